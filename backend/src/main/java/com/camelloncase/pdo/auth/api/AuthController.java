@@ -2,6 +2,7 @@ package com.camelloncase.pdo.auth.api;
 
 import com.camelloncase.pdo.auth.api.dto.*;
 import com.camelloncase.pdo.auth.application.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -19,8 +20,9 @@ public class AuthController {
 	}
 
 	@PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginrequest) {
-		LoginResponse response = authService.login(loginrequest);
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginrequest,
+											   HttpServletRequest request) {
+		LoginResponse response = authService.login(loginrequest, request.getRemoteAddr());
 		return ResponseEntity.ok(response);
     }
 
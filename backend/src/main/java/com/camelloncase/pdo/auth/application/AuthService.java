@@ -6,6 +6,8 @@ import com.camelloncase.pdo.auth.domain.PasswordResetToken;
 import com.camelloncase.pdo.auth.infrastructure.PasswordResetTokenRepository;
 import com.camelloncase.pdo.shared.exception.EmailAlreadyInUseException;
 import com.camelloncase.pdo.shared.exception.InvalidTokenException;
+import com.camelloncase.pdo.user.application.PrincipalCache;
+import com.camelloncase.pdo.user.application.TokenVersionRegistry;
 import com.camelloncase.pdo.user.application.mapper.UserMapper;
 import com.camelloncase.pdo.user.domain.User;
 import com.camelloncase.pdo.user.domain.enums.Role;
@@ -19,6 +21,7 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.OffsetDateTime;
 import java.util.UUID;
@@ -33,6 +36,10 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+	private final PrincipalCache principalCache;
+	private final TokenVersionRegistry tokenVersions;
+	private final LoginThrottle loginThrottle;
+	private final TransactionTemplate transactionTemplate;
 
     public AuthService(
 			UserRepository repository,
@@ -41,7 +48,11 @@ public class AuthService {
 			UserMapper mapper,
 			PasswordEncoder passwordEncoder,
 			JwtService jwtService,
-			AuthenticationManager authenticationManager
+			AuthenticationManager authenticationManager,
+			PrincipalCache principalCache,
+			TokenVersionRegistry tokenVersions,
+			LoginThrottle loginThrottle,
+			TransactionTemplate transactionTemplate
     ) {
         this.repository = repository;
 		this.passwordResetTokenRepository = passwordResetTokenRepository;
@@ -50,10 +61,21 @@ public class AuthService {
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
+		this.principalCache = principalCache;
+		this.tokenVersions = tokenVersions;
+		this.loginThrottle = loginThrottle;
+		this.transactionTemplate = transactionTemplate;
     }
 
-    @Transactional(readOnly = true)
-    public LoginResponse login(LoginRequest request) {
+    /**
+     * Not transactional, so no pooled connection is held while the password is hashed: the user
+     * is read in its own short transaction, and a cost upgrade is written in another
+     * (UserService.updatePassword).
+     */
+    public LoginResponse login(LoginRequest request, String clientIp) {
+		// rejects before any bcrypt work or database connection is spent on the attempt
+		loginThrottle.check(request.email(), clientIp);
+
         try {
             Authentication auth = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -61,6 +83,7 @@ public class AuthService {
                             request.password()
                     )
             );
+			loginThrottle.succeeded(request.email());
 
             User user = (User) auth.getPrincipal();
             String token = jwtService.generateToken(user);
@@ -71,31 +94,37 @@ public class AuthService {
 					jwtService.getExpirationMs(),
 					mapper.toUserResponse(user)
             );
+        } catch (BadCredentialsException e) {
+			loginThrottle.failed(request.email());
+            throw new BadCredentialsException("Invalid username or password", e);
         } catch (AuthenticationException e) {
             throw new BadCredentialsException("Invalid username or password", e);
         }
 
     }
 
-    @Transactional
+    /**
+     * Hashes before the write transaction opens, so no pooled connection waits on bcrypt.
+     */
     public RegisterResponse register(RegisterRequest registerRequest) {
 
 		if (repository.existsByEmail(registerRequest.email())) {
 			throw new EmailAlreadyInUseException(registerRequest.email());
 		}
 
-        User user = authMapper.fromRegisterRequestToEntity(registerRequest);
-
         String hashedPassword = passwordEncoder.encode(registerRequest.password());
 
-        user.setPasswordHash(hashedPassword);
-        user.setRole(Role.CUSTOMER);
-		user.setStatus(Status.ACTIVE);
-		user.setEmailVerifiedAt(OffsetDateTime.now());
+		return transactionTemplate.execute(status -> {
+			User user = authMapper.fromRegisterRequestToEntity(registerRequest);
+			user.setPasswordHash(hashedPassword);
+			user.setRole(Role.CUSTOMER);
+			user.setStatus(Status.ACTIVE);
+			user.setEmailVerifiedAt(OffsetDateTime.now());
 
-        User savedUser = repository.save(user);
+			User savedUser = repository.save(user);
 
-        return authMapper.toRegisterResponse(savedUser);
+			return authMapper.toRegisterResponse(savedUser);
+		});
     }
 
 	@Transactional(readOnly = true)
@@ -108,14 +137,14 @@ public class AuthService {
 		String token = authHeader.substring(7);
 
 		try {
-			String email = jwtService.extractUsername(token);
+			JwtClaims claims = jwtService.parse(token);
 
-			User user = repository.findByEmail(email);
+			User user = repository.findByEmail(claims.subject());
 			if (user == null) {
 				throw new BadCredentialsException("User not found for provided token");
 			}
 
-			if (!jwtService.isTokenValid(token, user)) {
+			if (!jwtService.isTokenValid(claims, user)) {
 				throw new BadCredentialsException("Invalid or expired token");
 			}
 
@@ -155,40 +184,54 @@ public class AuthService {
 
 	}
 
-	@Transactional
+	/**
+	 * The token is checked, then the new password hashed, both outside a transaction; the write
+	 * re-checks the token, so two resets racing on it cannot both succeed.
+	 */
 	public void resetPassword(ResetPasswordRequest request) {
 
-		PasswordResetToken token = passwordResetTokenRepository.findByToken(request.token())
-				.orElseThrow(() -> new InvalidTokenException("Invalid or expired password reset token"));
-
-		if (token.isExpired() || token.isUsed()) {
-			throw new InvalidTokenException("Invalid or expired password reset token");
-		}
-
 		if (!request.newPassword().equals(request.confirmNewPassword())) {
 			throw new IllegalArgumentException("New password and confirmation do not match");
 		}
 
-		User user = token.getUser();
+		usableResetToken(request.token());
+		String hashedPassword = passwordEncoder.encode(request.newPassword());
+
+		transactionTemplate.executeWithoutResult(status -> {
+			PasswordResetToken token = usableResetToken(request.token());
+			User user = token.getUser();
 
-		user.changePassword(passwordEncoder.encode(request.newPassword()));
-		token.setUsedAt(OffsetDateTime.now());
+			user.changePassword(hashedPassword);
+			token.setUsedAt(OffsetDateTime.now());
 
-		repository.save(user);
-		passwordResetTokenRepository.save(token);
+			repository.save(user);
+			passwordResetTokenRepository.save(token);
+			principalCache.invalidate(user.getEmail());
+			tokenVersions.revoked(user.getId(), user.getTokenVersion());
+		});
+	}
+
+	private PasswordResetToken usableResetToken(String rawToken) {
+		PasswordResetToken token = passwordResetTokenRepository.findByToken(rawToken)
+				.orElseThrow(() -> new InvalidTokenException("Invalid or expired password reset token"));
+
+		if (token.isExpired() || token.isUsed()) {
+			throw new InvalidTokenException("Invalid or expired password reset token");
+		}
+		return token;
 	}
 
     @Transactional(readOnly = true)
     public boolean validateToken(String token) {
         try {
-            String email = jwtService.extractUsername(token);
-            User user = repository.findByEmail(email);
+            JwtClaims claims = jwtService.parse(token);
+            User user = repository.findByEmail(claims.subject());
 
             if (user == null) {
                 return false;
             }
 
-			return jwtService.isTokenValid(token, user);
+			return jwtService.isTokenValid(claims, user);
 
         } catch (Exception e) {
             return false;
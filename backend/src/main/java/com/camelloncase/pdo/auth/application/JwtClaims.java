@@ -0,0 +1,27 @@
+package com.camelloncase.pdo.auth.application;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The verified content of an access token. {@code userId} and {@code tokenVersion} are null
+ * on tokens issued before they were added.
+ */
+public record JwtClaims(
+		String subject,
+		UUID userId,
+		Integer tokenVersion,
+		List<String> roles,
+		Instant issuedAt,
+		Instant expiresAt
+) {
+
+	public JwtClaims {
+		roles = roles == null ? List.of() : List.copyOf(roles);
+	}
+
+	public boolean isExpired(Instant now) {
+		return expiresAt == null || !expiresAt.isAfter(now);
+	}
+}
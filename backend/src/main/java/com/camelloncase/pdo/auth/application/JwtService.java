@@ -1,7 +1,14 @@
 package com.camelloncase.pdo.auth.application;
 
 import com.camelloncase.pdo.shared.config.jwt.JwtProperties;
+import com.camelloncase.pdo.user.domain.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -12,14 +19,30 @@ import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 @Service
 public class JwtService {
 
+	/**
+	 * Verified tokens remembered until they expire; sized for the concurrently active sessions.
+	 */
+	private static final long VERIFIED_TOKENS_MAXIMUM_SIZE = 10_000;
+
+	static final String USER_ID_CLAIM = "uid";
+	static final String TOKEN_VERSION_CLAIM = "tv";
+
 	private final JwtProperties jwtProperties;
 	private final Key signingKey;
+	private final JwtParser parser;
+	private final Cache<String, JwtClaims> verified;
 
 	public JwtService(JwtProperties jwtProperties) {
 		this.jwtProperties = jwtProperties;
@@ -38,7 +61,14 @@ public class JwtService {
 		}
 
 		this.signingKey = Keys.hmacShaKeyFor(keyBytes);
-
+		// immutable and thread-safe, so one instance serves every request
+		this.parser = Jwts.parserBuilder()
+				.setSigningKey(signingKey)
+				.build();
+		this.verified = Caffeine.newBuilder()
+				.maximumSize(VERIFIED_TOKENS_MAXIMUM_SIZE)
+				.expireAfter(new UntilTokenExpiry())
+				.build();
 	}
 
 	public long getExpirationMs() {
@@ -49,39 +79,130 @@ public class JwtService {
 		Instant now = Instant.now();
 		Instant exp = now.plusMillis(jwtProperties.getExpirationMs());
 
-		return Jwts.builder()
+		JwtBuilder builder = Jwts.builder()
 				.setSubject(userDetails.getUsername())
 				.claim("roles", userDetails.getAuthorities().stream()
 						.map(GrantedAuthority::getAuthority)
 						.toList())
 				.setIssuedAt(Date.from(now))
-				.setExpiration(Date.from(exp))
+				.setExpiration(Date.from(exp));
+		if (userDetails instanceof User user && user.getId() != null) {
+			builder.claim(USER_ID_CLAIM, user.getId().toString())
+					.claim(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+		}
+		return builder
 				.signWith(signingKey, SignatureAlgorithm.HS256)
 				.compact();
     }
 
+	/**
+	 * Parses and verifies {@code token} once. A token already verified is answered from
+	 * memory, keyed by its SHA-256 so raw bearer tokens are never retained.
+	 *
+	 * @throws JwtException if the token is malformed, badly signed or expired
+	 */
+	public JwtClaims parse(String token) {
+		String key = fingerprint(token);
+		JwtClaims claims = verified.getIfPresent(key);
+		if (claims == null) {
+			claims = verify(token);
+			verified.put(key, claims);
+		} else if (claims.isExpired(Instant.now())) {
+			throw new JwtException("JWT expired at " + claims.expiresAt());
+		}
+		return claims;
+	}
+
+	/**
+	 * Parses and verifies without the verified-token cache.
+	 */
+	public JwtClaims verify(String token) {
+		Claims body = parser.parseClaimsJws(token).getBody();
+		if (body.getExpiration() == null) {
+			throw new JwtException("JWT has no expiration");
+		}
+		return new JwtClaims(
+				body.getSubject(),
+				userId(body.get(USER_ID_CLAIM)),
+				body.get(TOKEN_VERSION_CLAIM) instanceof Number version ? version.intValue() : null,
+				roles(body.get("roles")),
+				body.getIssuedAt() == null ? null : body.getIssuedAt().toInstant(),
+				body.getExpiration().toInstant()
+		);
+	}
+
 	public String extractUsername(String token) {
-		return extractAllClaims(token).getSubject();
+		return parse(token).subject();
 	}
 
 	public boolean isTokenValid(String token, UserDetails userDetails) {
-		String username = extractUsername(token);
-		return username != null
-				&& username.equalsIgnoreCase(userDetails.getUsername())
-				&& !isTokenExpired(token);
+		return isTokenValid(parse(token), userDetails);
 	}
 
-	private boolean isTokenExpired(String token) {
-		Date expiration = extractAllClaims(token).getExpiration();
-		return expiration == null || expiration.before(new Date());
+	/**
+	 * Also rejects tokens issued before the user's last revocation, when both sides carry a version.
+	 */
+	public boolean isTokenValid(JwtClaims claims, UserDetails userDetails) {
+		return claims.subject() != null
+				&& claims.subject().equalsIgnoreCase(userDetails.getUsername())
+				&& !claims.isExpired(Instant.now())
+				&& (claims.tokenVersion() == null
+						|| !(userDetails instanceof User user)
+						|| claims.tokenVersion() == user.getTokenVersion());
 	}
 
-	private Claims extractAllClaims(String token) {
-		return Jwts.parserBuilder()
-				.setSigningKey(signingKey)
-				.build()
-				.parseClaimsJws(token)
-				.getBody();
+	/**
+	 * Whether the token was issued after a revocation {@code userDetails} does not reflect yet,
+	 * i.e. the principal is a stale copy and should be reloaded before judging the token.
+	 */
+	public boolean isNewerThan(JwtClaims claims, UserDetails userDetails) {
+		return claims.tokenVersion() != null
+				&& userDetails instanceof User user
+				&& claims.tokenVersion() > user.getTokenVersion();
 	}
 
+	private static UUID userId(Object claim) {
+		if (!(claim instanceof String value)) {
+			return null;
+		}
+		try {
+			return UUID.fromString(value);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private static List<String> roles(Object claim) {
+		if (!(claim instanceof List<?> values)) {
+			return List.of();
+		}
+		return values.stream().map(String::valueOf).toList();
+	}
+
+	private static String fingerprint(String token) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+			return Base64.getEncoder().withoutPadding().encodeToString(digest);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	private static final class UntilTokenExpiry implements Expiry<String, JwtClaims> {
+
+		@Override
+		public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+			return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, claims, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
 }
@@ -0,0 +1,184 @@
+package com.camelloncase.pdo.auth.application;
+
+import com.camelloncase.pdo.auth.domain.LoginAttempts;
+import com.camelloncase.pdo.auth.infrastructure.LoginAttemptRepository;
+import com.camelloncase.pdo.shared.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Login admission, checked before any password is hashed.
+ * <ul>
+ *     <li>token buckets per client IP and per email ({@link StripedTokenBucket})</li>
+ *     <li>progressive lockout after consecutive failures, tracked in memory and written to
+ *     {@code users.failed_login_attempts / locked_until / last_login_at} in batches every
+ *     {@code security.login-throttle.flush-interval}; an account's first failure on an instance
+ *     continues from the stored count, and writes never lower it</li>
+ * </ul>
+ * Rejections are answered with 429 and counted in {@code auth.login.rejected} by reason.
+ * Other instances see a lockout once it is flushed, through {@code User.isAccountNonLocked()}.
+ */
+@Component
+public class LoginThrottle {
+
+	private static final Logger log = LoggerFactory.getLogger(LoginThrottle.class);
+
+	private static final String REJECTED = "Too many login attempts, try again later";
+
+	private final LoginThrottleProperties properties;
+	private final LoginAttemptRepository repository;
+	private final StripedTokenBucket byIp;
+	private final StripedTokenBucket byEmail;
+	private final Cache<String, LoginAttempts> attempts;
+	private final Map<String, LoginAttempts> pending = new ConcurrentHashMap<>();
+	private final Counter ipRejected;
+	private final Counter emailRejected;
+	private final Counter lockedRejected;
+
+	public LoginThrottle(LoginThrottleProperties properties,
+						 LoginAttemptRepository repository,
+						 MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.repository = repository;
+		this.byIp = new StripedTokenBucket(properties.getStripes(),
+				properties.getIp().getCapacity(), properties.getIp().getRefillInterval());
+		this.byEmail = new StripedTokenBucket(properties.getStripes(),
+				properties.getEmail().getCapacity(), properties.getEmail().getRefillInterval());
+
+		// a lock never outlives max, so an entry idle that long holds nothing worth keeping
+		this.attempts = Caffeine.newBuilder()
+				.maximumSize(properties.getLockout().getMaximumSize())
+				.expireAfterWrite(properties.getLockout().getMax())
+				.build();
+
+		this.ipRejected = rejected(meterRegistry, "ip");
+		this.emailRejected = rejected(meterRegistry, "email");
+		this.lockedRejected = rejected(meterRegistry, "locked");
+		Gauge.builder("auth.login.pending_writes", pending, Map::size)
+				.register(meterRegistry);
+	}
+
+	/**
+	 * @throws TooManyRequestsException when the IP or email is over its rate, or the account is locked
+	 */
+	public void check(String email, String clientIp) {
+		if (!properties.isEnabled()) {
+			return;
+		}
+
+		if (clientIp != null) {
+			reject(ipRejected, byIp.tryAcquire(clientIp));
+		}
+
+		String key = key(email);
+		LoginAttempts current = attempts.getIfPresent(key);
+		OffsetDateTime now = OffsetDateTime.now();
+		if (current != null && current.isLocked(now)) {
+			lockedRejected.increment();
+			throw new TooManyRequestsException(REJECTED, Duration.between(now, current.lockedUntil()));
+		}
+
+		reject(emailRejected, byEmail.tryAcquire(key));
+	}
+
+	public void succeeded(String email) {
+		if (properties.isEnabled()) {
+			record(key(email), LoginAttempts.succeeded(OffsetDateTime.now()));
+		}
+	}
+
+	public void failed(String email) {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		LoginThrottleProperties.Lockout lockout = properties.getLockout();
+		String accountKey = key(email);
+		// the first failure this instance sees continues from the stored count, not from zero
+		LoginAttempts stored = attempts.getIfPresent(accountKey) == null ? stored(accountKey) : null;
+		OffsetDateTime now = OffsetDateTime.now();
+		attempts.asMap().compute(accountKey, (key, current) -> {
+			LoginAttempts base = current != null ? current : stored != null ? stored : new LoginAttempts(0, null, null);
+			LoginAttempts next = base.failed(now, lockout.getThreshold(), lockout.getInitial(), lockout.getMax());
+			pending.put(key, next);
+			return next;
+		});
+	}
+
+	@Scheduled(fixedDelayString = "${security.login-throttle.flush-interval:2s}")
+	public void flush() {
+		if (pending.isEmpty()) {
+			return;
+		}
+
+		List<Map.Entry<String, LoginAttempts>> batch = new ArrayList<>();
+		for (String key : pending.keySet()) {
+			LoginAttempts latest = pending.remove(key);
+			if (latest != null) {
+				batch.add(Map.entry(key, latest));
+			}
+		}
+
+		try {
+			repository.saveAll(batch);
+		} catch (DataAccessException e) {
+			log.warn("Could not write {} login attempt updates, retrying on next flush", batch.size(), e);
+			// a newer state recorded meanwhile wins
+			batch.forEach(entry -> pending.putIfAbsent(entry.getKey(), entry.getValue()));
+		}
+	}
+
+	private LoginAttempts stored(String key) {
+		try {
+			return repository.find(key).orElse(null);
+		} catch (DataAccessException e) {
+			log.warn("Could not read stored login attempts, counting from zero", e);
+			return null;
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		flush();
+	}
+
+	private void record(String key, LoginAttempts next) {
+		attempts.asMap().compute(key, (k, current) -> {
+			pending.put(k, next);
+			return next;
+		});
+	}
+
+	private static void reject(Counter counter, long waitNanos) {
+		if (waitNanos > 0) {
+			counter.increment();
+			throw new TooManyRequestsException(REJECTED, Duration.ofNanos(waitNanos));
+		}
+	}
+
+	private static Counter rejected(MeterRegistry meterRegistry, String reason) {
+		return Counter.builder("auth.login.rejected")
+				.tag("reason", reason)
+				.register(meterRegistry);
+	}
+
+	private static String key(String email) {
+		return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,151 @@
+package com.camelloncase.pdo.auth.application;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "security.login-throttle")
+public class LoginThrottleProperties {
+
+	private boolean enabled = true;
+
+	/**
+	 * Buckets per key kind; rounded up to a power of two.
+	 */
+	private int stripes = 65_536;
+
+	private final Bucket ip = new Bucket(20, Duration.ofSeconds(3));
+
+	private final Bucket email = new Bucket(5, Duration.ofSeconds(20));
+
+	private final Lockout lockout = new Lockout();
+
+	/**
+	 * How often failed-attempt counters, lockouts and last-login times are written to users.
+	 */
+	private Duration flushInterval = Duration.ofSeconds(2);
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public int getStripes() {
+		return stripes;
+	}
+
+	public void setStripes(int stripes) {
+		this.stripes = stripes;
+	}
+
+	public Bucket getIp() {
+		return ip;
+	}
+
+	public Bucket getEmail() {
+		return email;
+	}
+
+	public Lockout getLockout() {
+		return lockout;
+	}
+
+	public Duration getFlushInterval() {
+		return flushInterval;
+	}
+
+	public void setFlushInterval(Duration flushInterval) {
+		this.flushInterval = flushInterval;
+	}
+
+	public static class Bucket {
+
+		/**
+		 * Attempts allowed in a burst.
+		 */
+		private int capacity;
+
+		/**
+		 * Time for one attempt to be given back.
+		 */
+		private Duration refillInterval;
+
+		public Bucket(int capacity, Duration refillInterval) {
+			this.capacity = capacity;
+			this.refillInterval = refillInterval;
+		}
+
+		public int getCapacity() {
+			return capacity;
+		}
+
+		public void setCapacity(int capacity) {
+			this.capacity = capacity;
+		}
+
+		public Duration getRefillInterval() {
+			return refillInterval;
+		}
+
+		public void setRefillInterval(Duration refillInterval) {
+			this.refillInterval = refillInterval;
+		}
+	}
+
+	public static class Lockout {
+
+		/**
+		 * Consecutive failures before the account is locked.
+		 */
+		private int threshold = 5;
+
+		/**
+		 * Lock after reaching the threshold; doubled on every further failure.
+		 */
+		private Duration initial = Duration.ofMinutes(1);
+
+		private Duration max = Duration.ofHours(1);
+
+		/**
+		 * Accounts whose attempts are tracked in memory at once.
+		 */
+		private long maximumSize = 100_000;
+
+		public int getThreshold() {
+			return threshold;
+		}
+
+		public void setThreshold(int threshold) {
+			this.threshold = threshold;
+		}
+
+		public Duration getInitial() {
+			return initial;
+		}
+
+		public void setInitial(Duration initial) {
+			this.initial = initial;
+		}
+
+		public Duration getMax() {
+			return max;
+		}
+
+		public void setMax(Duration max) {
+			this.max = max;
+		}
+
+		public long getMaximumSize() {
+			return maximumSize;
+		}
+
+		public void setMaximumSize(long maximumSize) {
+			this.maximumSize = maximumSize;
+		}
+	}
+}
@@ -0,0 +1,70 @@
+package com.camelloncase.pdo.auth.application;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token buckets for an unbounded key space in a fixed array, without locks or per-key objects.
+ * <p>
+ * Each key hashes (with a per-process seed) to one stripe holding a single long, the bucket's
+ * theoretical arrival time (GCRA): taking a token moves it one refill interval forward, and the
+ * take is refused when that would put it more than {@code capacity} intervals ahead of now.
+ * Keys that share a stripe share a bucket, which can only make the limit stricter.
+ */
+final class StripedTokenBucket {
+
+	private final AtomicLongArray stripes;
+	private final int mask;
+	private final long seed;
+	private final long intervalNanos;
+	private final long burstNanos;
+	private final long origin = System.nanoTime();
+
+	StripedTokenBucket(int stripes, int capacity, Duration refillInterval) {
+		int size = Integer.highestOneBit(Math.max(stripes, 1) - 1) << 1;
+		this.stripes = new AtomicLongArray(Math.max(size, 1));
+		this.mask = this.stripes.length() - 1;
+		this.seed = ThreadLocalRandom.current().nextLong();
+		this.intervalNanos = Math.max(refillInterval.toNanos(), 1);
+		this.burstNanos = intervalNanos * Math.max(capacity, 1);
+	}
+
+	/**
+	 * Takes one token for {@code key}.
+	 *
+	 * @return 0 when the token was taken, otherwise the nanoseconds until one is available
+	 */
+	long tryAcquire(String key) {
+		int index = index(key);
+		long now = System.nanoTime() - origin;
+		while (true) {
+			long tat = stripes.get(index);
+			long next = Math.max(tat, now) + intervalNanos;
+			long ahead = next - now;
+			if (ahead > burstNanos) {
+				return ahead - burstNanos;
+			}
+			if (stripes.compareAndSet(index, tat, next)) {
+				return 0;
+			}
+		}
+	}
+
+	int size() {
+		return stripes.length();
+	}
+
+	private int index(String key) {
+		String normalized = key.toLowerCase(Locale.ROOT);
+		long h = seed;
+		for (int i = 0; i < normalized.length(); i++) {
+			h = (h ^ normalized.charAt(i)) * 0x100000001b3L;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		return (int) h & mask;
+	}
+}
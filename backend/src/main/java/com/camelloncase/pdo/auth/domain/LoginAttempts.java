@@ -0,0 +1,34 @@
+package com.camelloncase.pdo.auth.domain;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+/**
+ * Login state of one account as tracked in memory: consecutive failures, the lock they caused,
+ * and the time of the last success (null when the latest attempt failed).
+ */
+public record LoginAttempts(int failures, OffsetDateTime lockedUntil, OffsetDateTime lastLoginAt) {
+
+	public static LoginAttempts succeeded(OffsetDateTime at) {
+		return new LoginAttempts(0, null, at);
+	}
+
+	/**
+	 * One more failure; from the {@code threshold}-th on, the lock starts at {@code initial} and
+	 * doubles with each further failure, capped at {@code max}.
+	 */
+	public LoginAttempts failed(OffsetDateTime at, int threshold, Duration initial, Duration max) {
+		int count = failures + 1;
+		OffsetDateTime until = lockedUntil;
+		if (count >= threshold) {
+			int doublings = Math.min(count - threshold, 30);
+			Duration lock = initial.multipliedBy(1L << doublings);
+			until = at.plus(lock.compareTo(max) > 0 ? max : lock);
+		}
+		return new LoginAttempts(count, until, null);
+	}
+
+	public boolean isLocked(OffsetDateTime at) {
+		return lockedUntil != null && lockedUntil.isAfter(at);
+	}
+}
@@ -0,0 +1,67 @@
+package com.camelloncase.pdo.auth.infrastructure;
+
+import com.camelloncase.pdo.auth.domain.LoginAttempts;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Batched write-behind of {@link LoginAttempts} into {@code users}.
+ */
+@Repository
+public class LoginAttemptRepository {
+
+	/**
+	 * A failure never lowers the stored count or shortens a stored lock (e.g. written by another
+	 * instance or before a restart); a success clears both. Emails with no account match no row.
+	 */
+	private static final String UPDATE_ATTEMPTS = """
+			update users
+			set failed_login_attempts = case when cast(? as timestamptz) is not null then 0
+			                                 else greatest(failed_login_attempts, ?) end,
+			    locked_until = case when cast(? as timestamptz) is not null then null
+			                        else greatest(locked_until, cast(? as timestamptz)) end,
+			    last_login_at = coalesce(cast(? as timestamptz), last_login_at)
+			where upper(email) = upper(?)
+			""";
+
+	private static final String FIND_ATTEMPTS =
+			"select failed_login_attempts, locked_until from users where upper(email) = upper(?)";
+
+	private final JdbcTemplate jdbc;
+
+	public LoginAttemptRepository(JdbcTemplate jdbc) {
+		this.jdbc = jdbc;
+	}
+
+	public void saveAll(List<Map.Entry<String, LoginAttempts>> attempts) {
+		if (attempts.isEmpty()) {
+			return;
+		}
+		jdbc.batchUpdate(UPDATE_ATTEMPTS, attempts, attempts.size(), (ps, entry) -> {
+			LoginAttempts a = entry.getValue();
+			ps.setObject(1, a.lastLoginAt());
+			ps.setInt(2, a.failures());
+			ps.setObject(3, a.lastLoginAt());
+			ps.setObject(4, a.lockedUntil());
+			ps.setObject(5, a.lastLoginAt());
+			ps.setString(6, entry.getKey());
+		});
+	}
+
+	/**
+	 * The stored failures and lock of an account, empty when there is no account for the email.
+	 */
+	public Optional<LoginAttempts> find(String email) {
+		return jdbc.query(FIND_ATTEMPTS,
+				(rs, rowNum) -> new LoginAttempts(
+						rs.getInt("failed_login_attempts"),
+						rs.getObject("locked_until", OffsetDateTime.class),
+						null),
+				email).stream().findFirst();
+	}
+}
@@ -0,0 +1,59 @@
+package com.camelloncase.pdo.ombudsman.api;
+
+import java.util.Locale;
+
+/**
+ * Minimal {@code Accept-Encoding} negotiation for the export stream.
+ */
+final class AcceptEncodings {
+
+	private AcceptEncodings() {}
+
+	/**
+	 * Whether gzip is acceptable: listed (or covered by {@code *}) with a non-zero q-value.
+	 * An explicit {@code gzip} entry wins over {@code *}; entries with an unreadable q-value are ignored.
+	 */
+	static boolean allowsGzip(String header) {
+		if (header == null || header.isBlank()) {
+			return false;
+		}
+
+		Double gzip = null;
+		Double wildcard = null;
+		for (String entry : header.split(",")) {
+			String[] parts = entry.split(";");
+			String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+			if (!"gzip".equals(coding) && !"x-gzip".equals(coding) && !"*".equals(coding)) {
+				continue;
+			}
+			Double q = quality(parts);
+			if (q == null) {
+				continue;
+			}
+			if ("*".equals(coding)) {
+				wildcard = q;
+			} else {
+				gzip = gzip == null ? q : Math.max(gzip, q);
+			}
+		}
+
+		Double effective = gzip != null ? gzip : wildcard;
+		return effective != null && effective > 0;
+	}
+
+	private static Double quality(String[] parts) {
+		for (int i = 1; i < parts.length; i++) {
+			String parameter = parts[i].trim();
+			if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+					&& parameter.charAt(1) == '=') {
+				try {
+					double q = Double.parseDouble(parameter.substring(2).trim());
+					return q >= 0 && q <= 1 ? q : null;
+				} catch (NumberFormatException e) {
+					return null;
+				}
+			}
+		}
+		return 1.0;
+	}
+}
@@ -1,31 +1,53 @@
 package com.camelloncase.pdo.ombudsman.api;
 
+import com.camelloncase.pdo.ombudsman.api.dto.CursorPageResponse;
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanBatchCreateRequest;
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanBatchCreateResponse;
 import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanCreateRequest;
 import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanResponse;
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanSearchRequest;
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanStatusTransitionRequest;
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanStatusTransitionResponse;
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanSummaryResponse;
 import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanUpdateRequest;
+import com.camelloncase.pdo.ombudsman.api.dto.PurgeResponse;
+import com.camelloncase.pdo.ombudsman.api.dto.SliceResponse;
 import com.camelloncase.pdo.ombudsman.application.OmbudsmanFacade;
+import com.camelloncase.pdo.ombudsman.application.OmbudsmanRules;
+import com.camelloncase.pdo.ombudsman.application.export.ExportFormat;
+import com.camelloncase.pdo.user.domain.User;
 import jakarta.validation.Valid;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/ombudsmans")
 public class OmbudsmanController {
 
+	private static final int GZIP_BUFFER_SIZE = 8192;
+
 	private final OmbudsmanFacade facade;
 
 	public OmbudsmanController(OmbudsmanFacade facade) {
@@ -39,41 +61,146 @@ public class OmbudsmanController {
 		return ResponseEntity.status(HttpStatus.CREATED).body(response);
 	}
 
+	@PostMapping("/batch")
+	@PreAuthorize("hasAnyRole('ADMIN', 'AGENT')")
+	public ResponseEntity<OmbudsmanBatchCreateResponse> createBatch(@Valid @RequestBody OmbudsmanBatchCreateRequest request) {
+		OmbudsmanBatchCreateResponse response = facade.createBatch(request);
+		return ResponseEntity.ok(response);
+	}
+
 	@GetMapping("/{id}")
-	public ResponseEntity<OmbudsmanResponse> get(@PathVariable UUID id) {
+	public ResponseEntity<OmbudsmanResponse> get(@PathVariable UUID id, WebRequest request) {
 		OmbudsmanResponse response = facade.get(id);
-		return ResponseEntity.ok(response);
+		return conditional(response, request);
 	}
 
 	@GetMapping("/by-protocol/{protocolNumber}")
-	public ResponseEntity<OmbudsmanResponse> getByProtocol(@PathVariable String protocolNumber) {
+	public ResponseEntity<OmbudsmanResponse> getByProtocol(@PathVariable String protocolNumber, WebRequest request) {
 		OmbudsmanResponse response = facade.getByProtocol(protocolNumber);
-		return ResponseEntity.ok(response);
+		return conditional(response, request);
 	}
 
 	@GetMapping
 	public ResponseEntity<Page<OmbudsmanResponse>> list(
-			@RequestParam(required = false) UUID reporterIdentityId,
-			@RequestParam(required = false) String protocolNumber,
-			@RequestParam(required = false) String category,
-			@RequestParam(required = false) String urgency,
-			@RequestParam(required = false) String currentStatus,
+			@Valid @ParameterObject OmbudsmanSearchRequest filter,
+			@ParameterObject Pageable pageable
+	) {
+		Page<OmbudsmanResponse> response = facade.list(filter, pageable);
+		return ResponseEntity.ok(response);
+	}
+
+	@GetMapping(params = {"mode=slice", "view!=summary"})
+	public ResponseEntity<SliceResponse<OmbudsmanResponse>> listSlice(
+			@Valid @ParameterObject OmbudsmanSearchRequest filter,
+			@RequestParam(defaultValue = "false") boolean approximateTotal,
 			@ParameterObject Pageable pageable
 	) {
-		Page<OmbudsmanResponse> response = facade.list(reporterIdentityId, protocolNumber, category, urgency, currentStatus, pageable);
+		SliceResponse<OmbudsmanResponse> response = facade.listSlice(filter, pageable, approximateTotal);
 		return ResponseEntity.ok(response);
 	}
 
+	@GetMapping(params = {"mode=cursor", "view!=summary"})
+	public ResponseEntity<CursorPageResponse<OmbudsmanResponse>> listByCursor(
+			@Valid @ParameterObject OmbudsmanSearchRequest filter,
+			@RequestParam(required = false) String after,
+			@RequestParam(defaultValue = "" + OmbudsmanRules.DEFAULT_PAGE_SIZE) int size
+	) {
+		CursorPageResponse<OmbudsmanResponse> response = facade.listByCursor(filter, after, size);
+		return ResponseEntity.ok(response);
+	}
+
+	@GetMapping(params = "view=summary")
+	public ResponseEntity<SliceResponse<OmbudsmanSummaryResponse>> listSummary(
+			@Valid @ParameterObject OmbudsmanSearchRequest filter,
+			@RequestParam(defaultValue = "false") boolean approximateTotal,
+			@ParameterObject Pageable pageable
+	) {
+		SliceResponse<OmbudsmanSummaryResponse> response = facade.listSummary(filter, pageable, approximateTotal);
+		return ResponseEntity.ok(response);
+	}
+
+	@GetMapping("/export")
+	@PreAuthorize("hasAnyRole('ADMIN', 'AGENT')")
+	public ResponseEntity<StreamingResponseBody> export(
+			@Valid @ParameterObject OmbudsmanSearchRequest filter,
+			@RequestParam(defaultValue = "ndjson") String format,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+	) {
+		ExportFormat exportFormat = ExportFormat.parse(format);
+		boolean gzip = AcceptEncodings.allowsGzip(acceptEncoding);
+
+		StreamingResponseBody body = out -> {
+			if (gzip) {
+				try (GZIPOutputStream zipped = new GZIPOutputStream(out, GZIP_BUFFER_SIZE)) {
+					facade.export(filter, exportFormat, zipped);
+				}
+			} else {
+				facade.export(filter, exportFormat, out);
+			}
+		};
+
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+				.contentType(exportFormat.getMediaType())
+				.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+				.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+						.filename("ombudsmans." + exportFormat.getExtension())
+						.build()
+						.toString());
+		if (gzip) {
+			response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		return response.body(body);
+	}
+
 	@PutMapping("/{id}/status")
-	public ResponseEntity<OmbudsmanResponse> updateStatus(@PathVariable UUID id, @Valid @RequestBody OmbudsmanUpdateRequest req) {
-		OmbudsmanResponse response = facade.update(id, req);
+	public ResponseEntity<OmbudsmanResponse> updateStatus(
+			@PathVariable UUID id,
+			@Valid @RequestBody OmbudsmanUpdateRequest req,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		OmbudsmanResponse response = facade.update(id, req, OmbudsmanETags.parseIfMatch(ifMatch));
+		return ResponseEntity.ok().eTag(OmbudsmanETags.of(response)).body(response);
+	}
+
+	@PostMapping("/status-transitions")
+	@PreAuthorize("hasAnyRole('ADMIN', 'AGENT')")
+	public ResponseEntity<OmbudsmanStatusTransitionResponse> transitionStatus(
+			@Valid @RequestBody OmbudsmanStatusTransitionRequest req,
+			@AuthenticationPrincipal User operator
+	) {
+		OmbudsmanStatusTransitionResponse response = facade.transitionStatus(req, operator == null ? null : operator.getId());
 		return ResponseEntity.ok(response);
 	}
 
 	@DeleteMapping("/{id}")
 	@ResponseStatus(HttpStatus.NO_CONTENT)
-	public ResponseEntity<Void> delete(@PathVariable UUID id) {
-		facade.delete(id);
+	@PreAuthorize("!#hard or hasRole('ADMIN')")
+	public ResponseEntity<Void> delete(
+			@PathVariable UUID id,
+			@RequestParam(defaultValue = "false") boolean hard
+	) {
+		facade.delete(id, hard);
 		return ResponseEntity.noContent().build();
 	}
+
+	@DeleteMapping
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<PurgeResponse> purge(
+			@Valid @ParameterObject OmbudsmanSearchRequest filter,
+			@RequestParam(defaultValue = "false") boolean hard
+	) {
+		long deleted = facade.purge(filter, hard);
+		return ResponseEntity.ok(new PurgeResponse(deleted));
+	}
+
+	/**
+	 * 304 when {@code If-None-Match} already holds the current version, otherwise the body with its ETag.
+	 */
+	private static ResponseEntity<OmbudsmanResponse> conditional(OmbudsmanResponse response, WebRequest request) {
+		String etag = OmbudsmanETags.of(response);
+		if (request.checkNotModified(etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+		}
+		return ResponseEntity.ok().eTag(etag).body(response);
+	}
 }
@@ -0,0 +1,48 @@
+package com.camelloncase.pdo.ombudsman.api;
+
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanResponse;
+import com.camelloncase.pdo.shared.exception.BadRequestException;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Weak entity tags derived from {@code ombudsman.version}: {@code W/"<version>"}.
+ */
+final class OmbudsmanETags {
+
+	private OmbudsmanETags() {}
+
+	static String of(OmbudsmanResponse response) {
+		return "W/\"" + response.version() + "\"";
+	}
+
+	/**
+	 * Versions listed in an {@code If-Match} header; {@code null} when absent or {@code *}.
+	 * A malformed header is a 400; tags that are well formed but match no version are left out,
+	 * so an empty set fails the precondition (412) in the use case.
+	 */
+	static Set<Long> parseIfMatch(String header) {
+		if (header == null || header.isBlank() || "*".equals(header.trim())) {
+			return null;
+		}
+
+		Set<Long> versions = new HashSet<>();
+		for (String tag : header.split(",")) {
+			String value = tag.trim();
+			if (value.startsWith("W/")) {
+				value = value.substring(2);
+			}
+			if (value.length() < 2 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"'
+					|| value.indexOf('"', 1) != value.length() - 1) {
+				throw new BadRequestException("If-Match does not hold a valid entity tag");
+			}
+			try {
+				versions.add(Long.parseLong(value.substring(1, value.length() - 1)));
+			} catch (NumberFormatException e) {
+				// well formed but not one of ours: it can never match, the other tags still may
+			}
+		}
+		return versions;
+	}
+}
@@ -2,14 +2,25 @@ package com.camelloncase.pdo.ombudsman.api;
 
 import com.camelloncase.pdo.ombudsman.api.dto.LocationResponse;
 import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanResponse;
+import com.camelloncase.pdo.ombudsman.domain.CaseStatusHistoryEntry;
 import com.camelloncase.pdo.ombudsman.domain.Location;
 import com.camelloncase.pdo.ombudsman.domain.Ombudsman;
+import com.camelloncase.pdo.ombudsman.domain.StatusHistoryEntry;
 import org.mapstruct.Mapper;
 
+import java.util.List;
+
 @Mapper(componentModel = "spring")
 public interface OmbudsmanMapper {
 
+	/**
+	 * List views: {@code statusHistory} is left {@code null}, history is only read for the detail view.
+	 */
 	OmbudsmanResponse toResponse(Ombudsman entity);
 
+	OmbudsmanResponse toResponse(Ombudsman entity, List<CaseStatusHistoryEntry> statusHistory);
+
+	StatusHistoryEntry toResponse(CaseStatusHistoryEntry entry);
+
 	LocationResponse toResponse(Location location);
 }
@@ -0,0 +1,16 @@
+package com.camelloncase.pdo.ombudsman.api.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPageResponse<T>(
+		List<T> content,
+		int size,
+		boolean hasNext,
+		String nextCursor
+){
+	public <R> CursorPageResponse<R> map(Function<? super T, ? extends R> mapper) {
+		List<R> mapped = content.stream().<R>map(mapper).toList();
+		return new CursorPageResponse<>(mapped, size, hasNext, nextCursor);
+	}
+}
@@ -0,0 +1,17 @@
+package com.camelloncase.pdo.ombudsman.api.dto;
+
+import com.camelloncase.pdo.ombudsman.application.OmbudsmanRules;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Items are validated one by one so a bad item is reported in its result
+ * instead of rejecting the whole batch.
+ */
+public record OmbudsmanBatchCreateRequest(
+
+	@NotEmpty
+	@Size(max = OmbudsmanRules.MAX_BATCH_SIZE)
+	List<OmbudsmanCreateRequest> items
+){}
@@ -0,0 +1,9 @@
+package com.camelloncase.pdo.ombudsman.api.dto;
+
+import java.util.List;
+
+public record OmbudsmanBatchCreateResponse(
+		int created,
+		int rejected,
+		List<OmbudsmanBatchItemResult> items
+){}
@@ -0,0 +1,20 @@
+package com.camelloncase.pdo.ombudsman.api.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record OmbudsmanBatchItemResult(
+		int index,
+		boolean created,
+		UUID id,
+		String protocolNumber,
+		List<String> errors
+){
+	public static OmbudsmanBatchItemResult created(int index, UUID id, String protocolNumber) {
+		return new OmbudsmanBatchItemResult(index, true, id, protocolNumber, List.of());
+	}
+
+	public static OmbudsmanBatchItemResult rejected(int index, List<String> errors) {
+		return new OmbudsmanBatchItemResult(index, false, null, null, errors);
+	}
+}
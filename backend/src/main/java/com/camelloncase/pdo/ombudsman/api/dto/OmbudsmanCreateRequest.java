@@ -45,5 +45,7 @@ public record OmbudsmanCreateRequest (
 	IzaTriageResult izaTriageResult,
 
 	@Valid
-	LocationRequest location
+	LocationRequest location,
+
+	UUID clientRequestId
 ){}
\ No newline at end of file
@@ -26,5 +26,6 @@ public record OmbudsmanResponse(
 		IzaTriageResult izaTriageResult,
 		LocationResponse location,
 		OffsetDateTime createdAt,
-		OffsetDateTime updatedAt
+		OffsetDateTime updatedAt,
+		long version
 ){}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.camelloncase.pdo.ombudsman.api.dto;
+
+import com.camelloncase.pdo.ombudsman.domain.enums.CaseCategory;
+import com.camelloncase.pdo.ombudsman.domain.enums.CaseStatus;
+import com.camelloncase.pdo.ombudsman.domain.enums.UrgencyLevel;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record OmbudsmanSearchRequest(
+
+		UUID reporterIdentityId,
+
+		String protocolNumber,
+
+		@Size(max = 200)
+		String q,
+
+		List<CaseCategory> category,
+
+		List<UrgencyLevel> urgency,
+
+		List<CaseStatus> currentStatus,
+
+		@DecimalMin("-180") @DecimalMax("180")
+		Double minLongitude,
+
+		@DecimalMin("-90") @DecimalMax("90")
+		Double minLatitude,
+
+		@DecimalMin("-180") @DecimalMax("180")
+		Double maxLongitude,
+
+		@DecimalMin("-90") @DecimalMax("90")
+		Double maxLatitude,
+
+		@DecimalMin("-180") @DecimalMax("180")
+		Double nearLongitude,
+
+		@DecimalMin("-90") @DecimalMax("90")
+		Double nearLatitude,
+
+		@Positive @DecimalMax("50000")
+		Double radiusMeters
+){}
@@ -0,0 +1,25 @@
+package com.camelloncase.pdo.ombudsman.api.dto;
+
+import com.camelloncase.pdo.ombudsman.application.OmbudsmanRules;
+import com.camelloncase.pdo.ombudsman.domain.enums.CaseStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record OmbudsmanStatusTransitionRequest(
+
+		@NotEmpty
+		@Size(max = OmbudsmanRules.MAX_BATCH_SIZE)
+		List<@NotNull UUID> ids,
+
+		@NotNull
+		CaseStatus targetStatus,
+
+		UUID destinationAgencyId,
+
+		@Size(max = 1000)
+		String statusNote
+){}
@@ -0,0 +1,15 @@
+package com.camelloncase.pdo.ombudsman.api.dto;
+
+import com.camelloncase.pdo.ombudsman.domain.enums.CaseStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@code skipped} holds the ids that do not exist or whose current status cannot move to {@code targetStatus}.
+ */
+public record OmbudsmanStatusTransitionResponse(
+		CaseStatus targetStatus,
+		List<UUID> updated,
+		List<UUID> skipped
+){}
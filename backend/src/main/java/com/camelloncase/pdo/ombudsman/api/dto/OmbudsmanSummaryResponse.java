@@ -0,0 +1,18 @@
+package com.camelloncase.pdo.ombudsman.api.dto;
+
+import com.camelloncase.pdo.ombudsman.domain.enums.CaseCategory;
+import com.camelloncase.pdo.ombudsman.domain.enums.CaseStatus;
+import com.camelloncase.pdo.ombudsman.domain.enums.UrgencyLevel;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record OmbudsmanSummaryResponse(
+		UUID id,
+		String protocolNumber,
+		CaseCategory category,
+		UrgencyLevel urgency,
+		CaseStatus currentStatus,
+		UUID destinationAgencyId,
+		OffsetDateTime createdAt
+){}
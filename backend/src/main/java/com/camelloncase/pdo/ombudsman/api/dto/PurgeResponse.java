@@ -0,0 +1,5 @@
+package com.camelloncase.pdo.ombudsman.api.dto;
+
+public record PurgeResponse(
+		long deleted
+){}
@@ -0,0 +1,17 @@
+package com.camelloncase.pdo.ombudsman.api.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record SliceResponse<T>(
+		List<T> content,
+		int page,
+		int size,
+		boolean hasNext,
+		Long approximateTotal
+){
+	public <R> SliceResponse<R> map(Function<? super T, ? extends R> mapper) {
+		List<R> mapped = content.stream().<R>map(mapper).toList();
+		return new SliceResponse<>(mapped, page, size, hasNext, approximateTotal);
+	}
+}
@@ -0,0 +1,125 @@
+package com.camelloncase.pdo.ombudsman.application;
+
+import com.camelloncase.pdo.ombudsman.infrastructure.forwarding.ForwardingClient;
+import com.camelloncase.pdo.ombudsman.infrastructure.forwarding.ForwardingMessage;
+import com.camelloncase.pdo.ombudsman.infrastructure.forwarding.ForwardingOutboxRepository;
+import com.camelloncase.pdo.ombudsman.infrastructure.forwarding.ForwardingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Drains {@code forwarding_outbox}: claims due rows (SKIP LOCKED, so instances never
+ * claim the same row), delivers them as one batch per agency on virtual threads, then
+ * marks them delivered or reschedules them with backoff.
+ * <p>
+ * Publishes {@code forwarding.requests}, {@code forwarding.request.duration} and
+ * {@code forwarding.errors} (docs/observability), plus {@code forwarding.outbox.dispatched}
+ * (throughput), {@code forwarding.outbox.failed}, {@code forwarding.outbox.pending} and
+ * {@code forwarding.outbox.lag} (seconds since the oldest undelivered row was queued).
+ */
+@Component
+public class ForwardingDispatcher {
+
+	private static final Logger log = LoggerFactory.getLogger(ForwardingDispatcher.class);
+
+	private final ForwardingOutboxRepository repository;
+	private final ForwardingClient client;
+	private final ForwardingProperties.Dispatcher properties;
+	private final MeterRegistry meterRegistry;
+	private final Counter requests;
+	private final Counter errors;
+	private final Counter dispatched;
+	private final Counter failed;
+	private final AtomicLong pending = new AtomicLong();
+	private final AtomicLong lagMillis = new AtomicLong();
+
+	public ForwardingDispatcher(
+			ForwardingOutboxRepository repository,
+			ForwardingClient client,
+			ForwardingProperties properties,
+			MeterRegistry meterRegistry
+	) {
+		this.repository = repository;
+		this.client = client;
+		this.properties = properties.getDispatcher();
+		this.meterRegistry = meterRegistry;
+		this.requests = meterRegistry.counter("forwarding.requests");
+		this.errors = meterRegistry.counter("forwarding.errors");
+		this.dispatched = meterRegistry.counter("forwarding.outbox.dispatched");
+		this.failed = meterRegistry.counter("forwarding.outbox.failed");
+
+		Gauge.builder("forwarding.outbox.pending", pending, AtomicLong::get)
+				.register(meterRegistry);
+		Gauge.builder("forwarding.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+				.baseUnit("seconds")
+				.register(meterRegistry);
+	}
+
+	@Scheduled(fixedDelayString = "${forwarding.dispatcher.poll-interval:1s}")
+	public void dispatch() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+
+		int batchSize = properties.getBatchSize();
+		ForwardingOutboxRepository.Claimed claimed;
+		do {
+			claimed = repository.claim(batchSize, properties.getMaxAttempts(), properties.getLease(), now());
+			if (claimed.failed() > 0) {
+				failed.increment(claimed.failed());
+				log.warn("{} forwarding messages gave up after their last lease expired", claimed.failed());
+			}
+			Map<UUID, List<ForwardingMessage>> byAgency = claimed.messages().stream().collect(Collectors.groupingBy(
+					ForwardingMessage::destinationAgencyId, LinkedHashMap::new, Collectors.toList()));
+
+			try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+				byAgency.forEach((agency, messages) -> executor.execute(() -> deliver(agency, messages)));
+			}
+		} while (claimed.size() == batchSize);
+
+		ForwardingOutboxRepository.Backlog backlog = repository.backlog(now());
+		pending.set(backlog.pending());
+		lagMillis.set(Math.round(backlog.lagSeconds() * 1000));
+	}
+
+	private void deliver(UUID agency, List<ForwardingMessage> messages) {
+		List<Long> ids = messages.stream().map(ForwardingMessage::outboxId).toList();
+		requests.increment();
+		Timer.Sample sample = Timer.start(meterRegistry);
+		try {
+			client.deliver(agency, messages);
+			sample.stop(meterRegistry.timer("forwarding.request.duration", "outcome", "success"));
+		} catch (RuntimeException e) {
+			sample.stop(meterRegistry.timer("forwarding.request.duration", "outcome", "error"));
+			errors.increment();
+			long exhausted = repository.reschedule(ids, e.getMessage(), properties.getMaxAttempts(),
+					properties.getInitialBackoff(), properties.getMaxBackoff(), now());
+			failed.increment(exhausted);
+			log.warn("Forwarding {} cases to agency {} failed ({} gave up)", ids.size(), agency, exhausted, e);
+			return;
+		}
+		repository.markDelivered(ids, now());
+		dispatched.increment(ids.size());
+	}
+
+	private static OffsetDateTime now() {
+		return OffsetDateTime.now(ZoneOffset.UTC);
+	}
+}
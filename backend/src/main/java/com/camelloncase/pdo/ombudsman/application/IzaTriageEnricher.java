@@ -0,0 +1,197 @@
+package com.camelloncase.pdo.ombudsman.application;
+
+import com.camelloncase.pdo.ombudsman.domain.IzaTriageResult;
+import com.camelloncase.pdo.ombudsman.domain.Ombudsman;
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanTriageRepository;
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanTriageRepository.Untriaged;
+import com.camelloncase.pdo.ombudsman.infrastructure.iza.IzaProperties;
+import com.camelloncase.pdo.ombudsman.infrastructure.iza.IzaTriageClient;
+import com.camelloncase.pdo.ombudsman.infrastructure.iza.IzaTriageException;
+import com.camelloncase.pdo.ombudsman.infrastructure.iza.IzaTriageRequest;
+import com.camelloncase.pdo.ombudsman.infrastructure.iza.IzaUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fills in IZA's triage for cases created without one. The call runs on a virtual thread after
+ * the creating transaction commits, so the request thread answers with the protocol right away
+ * and a slow or failing IZA never holds a Tomcat worker. Failures leave the triage empty and
+ * count towards {@code ombudsman.triage.failed}; calls IZA's client shed without sending
+ * (bulkhead full, circuit open) count towards {@code ombudsman.triage.deferred} instead.
+ * <p>
+ * A batch is triaged by one task at {@code iza.sweep.concurrency} calls at a time rather than
+ * one call per case. Whatever is left without triage is retried by {@link #sweep()}, which
+ * picks up cases older than {@code iza.sweep.min-age}. Applying a triage only fills empty
+ * columns, so a case triaged twice (e.g. by the sweeps of two instances) keeps the first answer.
+ */
+@Component
+public class IzaTriageEnricher {
+
+	private static final Logger log = LoggerFactory.getLogger(IzaTriageEnricher.class);
+
+	private final IzaTriageClient client;
+	private final IzaProperties properties;
+	private final OmbudsmanTriageRepository repository;
+	private final OmbudsmanResponseCache cache;
+	private final Counter failed;
+	private final Counter deferred;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+	public IzaTriageEnricher(
+			IzaTriageClient client,
+			IzaProperties properties,
+			OmbudsmanTriageRepository repository,
+			OmbudsmanResponseCache cache,
+			MeterRegistry meterRegistry
+	) {
+		this.client = client;
+		this.properties = properties;
+		this.repository = repository;
+		this.cache = cache;
+		this.failed = meterRegistry.counter("ombudsman.triage.failed");
+		this.deferred = meterRegistry.counter("ombudsman.triage.deferred");
+	}
+
+	public void requestAfterCommit(Ombudsman o) {
+		requestAfterCommit(List.of(o));
+	}
+
+	/**
+	 * Triages {@code cases} once the surrounding transaction commits, on a single task draining
+	 * them at {@code iza.sweep.concurrency} calls at a time.
+	 */
+	public void requestAfterCommit(List<Ombudsman> cases) {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		List<Untriaged> pending = cases.stream()
+				.filter(o -> o.getIzaTriageResultId() == null)
+				.map(o -> new Untriaged(o.getId(), new IzaTriageRequest(o.getCategory(), o.getDescription())))
+				.toList();
+		if (pending.isEmpty()) {
+			return;
+		}
+		Runnable task = pending.size() == 1
+				? () -> triage(pending.get(0))
+				: () -> triageAll(pending);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					executor.execute(task);
+				}
+			});
+		} else {
+			executor.execute(task);
+		}
+	}
+
+	/**
+	 * Retries cases created between {@code max-age} and {@code min-age} ago that still have no
+	 * triage.
+	 */
+	@Scheduled(fixedDelayString = "${iza.sweep.interval:1m}")
+	public void sweep() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+
+		IzaProperties.Sweep sweep = properties.getSweep();
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		List<Untriaged> cases = repository.findUntriaged(
+				now.minus(sweep.getMaxAge()), now.minus(sweep.getMinAge()), sweep.getBatchSize());
+		if (!cases.isEmpty()) {
+			int sent = triageAll(cases);
+			log.debug("IZA triage sweep retried {} of {} untriaged cases", sent, cases.size());
+		}
+	}
+
+	/**
+	 * At most {@code iza.sweep.concurrency} calls at a time; stops at the first call IZA refuses,
+	 * leaving the rest for the sweep.
+	 *
+	 * @return how many calls were made
+	 */
+	private int triageAll(List<Untriaged> cases) {
+		Semaphore permits = new Semaphore(Math.max(properties.getSweep().getConcurrency(), 1));
+		AtomicBoolean refused = new AtomicBoolean();
+		List<Future<?>> calls = new ArrayList<>(cases.size());
+		try {
+			for (Untriaged untriaged : cases) {
+				permits.acquire();
+				if (refused.get()) {
+					permits.release();
+					break;
+				}
+				calls.add(executor.submit(() -> {
+					try {
+						if (!triage(untriaged)) {
+							refused.set(true);
+						}
+					} finally {
+						permits.release();
+					}
+				}));
+			}
+			for (Future<?> call : calls) {
+				call.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			log.warn("IZA triage of {} cases failed", cases.size(), e.getCause());
+		}
+		return calls.size();
+	}
+
+	/**
+	 * @return false when IZA refused the call (bulkhead full, circuit open or out of retries)
+	 */
+	private boolean triage(Untriaged untriaged) {
+		UUID id = untriaged.id();
+		try {
+			IzaTriageResult result = client.triage(untriaged.request());
+			if (repository.applyTriage(id, result, OffsetDateTime.now(ZoneOffset.UTC))) {
+				cache.evict(id);
+			}
+			return true;
+		} catch (IzaUnavailableException e) {
+			deferred.increment();
+			log.debug("IZA triage deferred for case {}: {}", id, e.getMessage());
+			return false;
+		} catch (IzaTriageException e) {
+			failed.increment();
+			log.debug("IZA triage skipped for case {}: {}", id, e.getMessage());
+			return false;
+		} catch (RuntimeException e) {
+			failed.increment();
+			log.warn("IZA triage failed for case {}", id, e);
+			return true;
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdown();
+	}
+}
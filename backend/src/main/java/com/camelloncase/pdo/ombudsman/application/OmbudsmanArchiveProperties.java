@@ -0,0 +1,54 @@
+package com.camelloncase.pdo.ombudsman.application;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "ombudsman.archive")
+public class OmbudsmanArchiveProperties {
+
+	private boolean enabled = true;
+
+	/**
+	 * How long a case stays COMPLETED (by {@code updated_at}) before it moves to the archive partition.
+	 */
+	private Duration completedFor = Duration.ofDays(90);
+
+	private String cron = "0 30 3 * * *";
+
+	private int chunkSize = 1000;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public Duration getCompletedFor() {
+		return completedFor;
+	}
+
+	public void setCompletedFor(Duration completedFor) {
+		this.completedFor = completedFor;
+	}
+
+	public String getCron() {
+		return cron;
+	}
+
+	public void setCron(String cron) {
+		this.cron = cron;
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+}
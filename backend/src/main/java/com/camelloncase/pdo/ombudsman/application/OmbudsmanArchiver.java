@@ -0,0 +1,84 @@
+package com.camelloncase.pdo.ombudsman.application;
+
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanArchiveRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the yearly partitions of {@code ombudsman} ahead of the clock and moves cases that have
+ * been COMPLETED for {@link OmbudsmanArchiveProperties#getCompletedFor()} into the cold archive
+ * partitions, in chunks of one short transaction each. Rows locked by other writers (or another
+ * instance's archiver) are skipped and picked up on the next run.
+ */
+@Component
+public class OmbudsmanArchiver {
+
+	private static final Logger log = LoggerFactory.getLogger(OmbudsmanArchiver.class);
+
+	private final OmbudsmanArchiveRepository repository;
+	private final OmbudsmanArchiveProperties properties;
+	private final OmbudsmanResponseCache cache;
+	private final TransactionTemplate transactionTemplate;
+
+	public OmbudsmanArchiver(
+			OmbudsmanArchiveRepository repository,
+			OmbudsmanArchiveProperties properties,
+			OmbudsmanResponseCache cache,
+			TransactionTemplate transactionTemplate
+	) {
+		this.repository = repository;
+		this.properties = properties;
+		this.cache = cache;
+		this.transactionTemplate = transactionTemplate;
+	}
+
+	/**
+	 * Runs at startup regardless of {@code ombudsman.archive.enabled}; a failure here aborts startup
+	 * rather than leaving new cases to pile up in the DEFAULT partition.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void ensurePartitions() {
+		int year = OffsetDateTime.now(ZoneOffset.UTC).getYear();
+		ensurePartitions(year);
+		ensurePartitions(year + 1);
+	}
+
+	private void ensurePartitions(int year) {
+		Integer moved = transactionTemplate.execute(status -> repository.ensurePartitions(year));
+		if (moved != null && moved > 0) {
+			log.warn("Moved {} rows of {} out of the DEFAULT partitions into the new year partitions", moved, year);
+		}
+	}
+
+	@Scheduled(cron = "${ombudsman.archive.cron:0 30 3 * * *}")
+	public void run() {
+		ensurePartitions();
+		if (!properties.isEnabled()) {
+			return;
+		}
+
+		OffsetDateTime completedBefore = OffsetDateTime.now(ZoneOffset.UTC).minus(properties.getCompletedFor());
+		int chunkSize = properties.getChunkSize();
+		long total = 0;
+		List<UUID> chunk;
+		do {
+			chunk = transactionTemplate.execute(status -> repository.archiveChunk(completedBefore, chunkSize));
+			chunk.forEach(cache::evict);
+			total += chunk.size();
+		} while (chunk.size() == chunkSize);
+
+		if (total > 0) {
+			log.info("Archived {} cases completed before {}", total, completedBefore);
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package com.camelloncase.pdo.ombudsman.application;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "ombudsman.cache")
+public class OmbudsmanCacheProperties {
+
+	private long maximumSize = 10_000;
+
+	private Duration ttl = Duration.ofSeconds(60);
+
+	public long getMaximumSize() {
+		return maximumSize;
+	}
+
+	public void setMaximumSize(long maximumSize) {
+		this.maximumSize = maximumSize;
+	}
+
+	public Duration getTtl() {
+		return ttl;
+	}
+
+	public void setTtl(Duration ttl) {
+		this.ttl = ttl;
+	}
+}
@@ -0,0 +1,40 @@
+package com.camelloncase.pdo.ombudsman.application;
+
+import com.camelloncase.pdo.ombudsman.domain.Ombudsman;
+import com.camelloncase.pdo.shared.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position over (created_at, id), newest first.
+ */
+public record OmbudsmanCursor(OffsetDateTime createdAt, UUID id) {
+
+	private static final char SEPARATOR = '|';
+
+	public static OmbudsmanCursor of(Ombudsman o) {
+		return new OmbudsmanCursor(o.getCreatedAt(), o.getId());
+	}
+
+	public static OmbudsmanCursor decode(String token) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int sep = raw.indexOf(SEPARATOR);
+			Instant instant = Instant.parse(raw.substring(0, sep));
+			UUID id = UUID.fromString(raw.substring(sep + 1));
+			return new OmbudsmanCursor(instant.atOffset(ZoneOffset.UTC), id);
+		} catch (RuntimeException e) {
+			throw new BadRequestException("after is not a valid cursor");
+		}
+	}
+
+	public String encode() {
+		String raw = createdAt.toInstant().toString() + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -1,11 +1,24 @@
 package com.camelloncase.pdo.ombudsman.application;
 
 import com.camelloncase.pdo.ombudsman.api.OmbudsmanMapper;
+import com.camelloncase.pdo.ombudsman.api.dto.CursorPageResponse;
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanBatchCreateRequest;
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanBatchCreateResponse;
 import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanCreateRequest;
 import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanResponse;
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanSearchRequest;
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanStatusTransitionRequest;
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanStatusTransitionResponse;
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanSummaryResponse;
 import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanUpdateRequest;
+import com.camelloncase.pdo.ombudsman.api.dto.SliceResponse;
+import com.camelloncase.pdo.ombudsman.application.export.ExportFormat;
 import com.camelloncase.pdo.ombudsman.application.usecase.*;
+import com.camelloncase.pdo.ombudsman.domain.Ombudsman;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -15,60 +28,121 @@ import org.springframework.stereotype.Service;
 public class OmbudsmanFacade {
 
 	private final CreateOmbudsmanUseCase createUseCase;
+	private final CreateOmbudsmansBatchUseCase createBatchUseCase;
 	private final GetOmbudsmanUseCase getUseCase;
 	private final GetOmbudsmanByProtocolUseCase getOmbudsmanByProtocolUseCase;
+	private final GetStatusHistoryUseCase getStatusHistoryUseCase;
 	private final ListOmbudsmansUseCase listUseCase;
 	private final UpdateOmbudsmanUseCase updateUseCase;
+	private final TransitionOmbudsmansStatusUseCase transitionUseCase;
 	private final DeleteOmbudsmanUseCase deleteUseCase;
+	private final PurgeOmbudsmansUseCase purgeUseCase;
+	private final ExportOmbudsmansUseCase exportUseCase;
 	private final OmbudsmanMapper mapper;
+	private final OmbudsmanResponseCache cache;
+	private final OmbudsmanIdempotency idempotency;
 
 	public OmbudsmanFacade(
 			CreateOmbudsmanUseCase createUseCase,
+			CreateOmbudsmansBatchUseCase createBatchUseCase,
 			GetOmbudsmanUseCase getUseCase,
 			GetOmbudsmanByProtocolUseCase getOmbudsmanByProtocolUseCase,
+			GetStatusHistoryUseCase getStatusHistoryUseCase,
 			ListOmbudsmansUseCase listUseCase,
 			UpdateOmbudsmanUseCase updateUseCase,
+			TransitionOmbudsmansStatusUseCase transitionUseCase,
 			DeleteOmbudsmanUseCase deleteUseCase,
-			OmbudsmanMapper mapper
+			PurgeOmbudsmansUseCase purgeUseCase,
+			ExportOmbudsmansUseCase exportUseCase,
+			OmbudsmanMapper mapper,
+			OmbudsmanResponseCache cache,
+			OmbudsmanIdempotency idempotency
 	) {
 		this.createUseCase = createUseCase;
+		this.createBatchUseCase = createBatchUseCase;
 		this.getUseCase = getUseCase;
 		this.getOmbudsmanByProtocolUseCase = getOmbudsmanByProtocolUseCase;
+		this.getStatusHistoryUseCase = getStatusHistoryUseCase;
 		this.listUseCase = listUseCase;
 		this.updateUseCase = updateUseCase;
+		this.transitionUseCase = transitionUseCase;
 		this.deleteUseCase = deleteUseCase;
+		this.purgeUseCase = purgeUseCase;
+		this.exportUseCase = exportUseCase;
 		this.mapper = mapper;
+		this.cache = cache;
+		this.idempotency = idempotency;
 	}
 
 	public OmbudsmanResponse create(OmbudsmanCreateRequest req) {
-		return mapper.toResponse(createUseCase.execute(req));
+		if (req.clientRequestId() == null) {
+			return mapper.toResponse(createUseCase.execute(req));
+		}
+
+		OmbudsmanResponse[] created = new OmbudsmanResponse[1];
+		UUID id = idempotency.resolve(req.clientRequestId(), () -> {
+			created[0] = mapper.toResponse(createUseCase.execute(req));
+			return created[0].id();
+		});
+		return created[0] != null ? created[0] : get(id);
+	}
+
+	public OmbudsmanBatchCreateResponse createBatch(OmbudsmanBatchCreateRequest req) {
+		return createBatchUseCase.execute(req.items());
 	}
 
 	public OmbudsmanResponse get(UUID id) {
-		return mapper.toResponse(getUseCase.execute(id));
+		return cache.getById(id, key -> detail(getUseCase.execute(key)));
 	}
 
 	public OmbudsmanResponse getByProtocol(String protocolNumber) {
-		return mapper.toResponse(getOmbudsmanByProtocolUseCase.execute(protocolNumber));
+		return cache.getByProtocol(protocolNumber,
+				() -> detail(getOmbudsmanByProtocolUseCase.execute(protocolNumber)));
 	}
 
-	public Page<OmbudsmanResponse> list(
-			UUID reporterIdentityId,
-			String protocolNumber,
-			String category,
-			String urgency,
-			String currentStatus,
-			Pageable pageable
-	) {
-		return listUseCase.execute(reporterIdentityId, protocolNumber, category, urgency, currentStatus, pageable)
+	public Page<OmbudsmanResponse> list(OmbudsmanSearchRequest filter, Pageable pageable) {
+		return listUseCase.execute(filter, pageable)
+				.map(mapper::toResponse);
+	}
+
+	public SliceResponse<OmbudsmanResponse> listSlice(OmbudsmanSearchRequest filter, Pageable pageable, boolean approximateTotal) {
+		return listUseCase.executeSlice(filter, pageable, approximateTotal)
+				.map(mapper::toResponse);
+	}
+
+	public SliceResponse<OmbudsmanSummaryResponse> listSummary(OmbudsmanSearchRequest filter, Pageable pageable, boolean approximateTotal) {
+		return listUseCase.executeSummary(filter, pageable, approximateTotal);
+	}
+
+	public CursorPageResponse<OmbudsmanResponse> listByCursor(OmbudsmanSearchRequest filter, String after, int size) {
+		return listUseCase.executeAfter(filter, after, size)
 				.map(mapper::toResponse);
 	}
 
-	public OmbudsmanResponse update(UUID id, OmbudsmanUpdateRequest req) {
-		return mapper.toResponse(updateUseCase.execute(id, req));
+	public void export(OmbudsmanSearchRequest filter, ExportFormat format, OutputStream out) throws IOException {
+		exportUseCase.execute(filter, format, out);
+	}
+
+	/**
+	 * @param expectedVersions versions from {@code If-Match}, or {@code null} for an unconditional update
+	 */
+	public OmbudsmanResponse update(UUID id, OmbudsmanUpdateRequest req, Set<Long> expectedVersions) {
+		return mapper.toResponse(updateUseCase.execute(id, req, expectedVersions));
+	}
+
+	public OmbudsmanStatusTransitionResponse transitionStatus(OmbudsmanStatusTransitionRequest req, UUID changedBy) {
+		return transitionUseCase.execute(req, changedBy);
+	}
+
+	public void delete(UUID id, boolean hard) {
+		deleteUseCase.execute(id, hard);
+	}
+
+	public long purge(OmbudsmanSearchRequest filter, boolean hard) {
+		return purgeUseCase.execute(filter, hard);
 	}
 
-	public void delete(UUID id) {
-		deleteUseCase.execute(id);
+	private OmbudsmanResponse detail(Ombudsman ombudsman) {
+		return mapper.toResponse(ombudsman, getStatusHistoryUseCase.execute(ombudsman.getId()));
 	}
 }
@@ -0,0 +1,59 @@
+package com.camelloncase.pdo.ombudsman.application;
+
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanCreateRequest;
+import com.camelloncase.pdo.ombudsman.domain.Ombudsman;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Builds new, validated cases from create requests, shared by single and bulk intake.
+ */
+@Component
+public class OmbudsmanFactory {
+
+	private static final int MAX_ATTACHMENTS = 4;
+
+	private final OmbudsmanRules rules;
+
+	public OmbudsmanFactory(OmbudsmanRules rules) {
+		this.rules = rules;
+	}
+
+	public Ombudsman newCase(OmbudsmanCreateRequest req, String protocolNumber, OffsetDateTime now) {
+
+		var urls = Optional.ofNullable(req.attachmentUrls())
+				.orElseGet(List::of)
+				.stream()
+				.map(String::trim)
+				.filter(s -> !s.isBlank())
+				.distinct()
+				.limit(MAX_ATTACHMENTS)
+				.toList();
+
+		Ombudsman o = new Ombudsman();
+
+		o.setProtocolNumber(protocolNumber);
+		o.setCategory(req.category());
+		o.setDescription(req.description());
+		o.setUrgency(req.urgency());
+		o.setCurrentStatus(req.currentStatus());
+		o.setAnonymous(req.anonymous());
+		o.setPrivacyConsent(req.privacyConsent());
+		o.setDestinationAgencyId(req.destinationAgencyId());
+		o.setReporterIdentityId(req.reporterIdentityId());
+		o.setAttachmentUrls(new ArrayList<>(urls));
+		o.setIzaTriageResultId(req.izaTriageResult());
+		o.setLocation(req.location() == null ? null : req.location().toDomain());
+		o.setClientRequestId(req.clientRequestId());
+
+		rules.validateLocation(o.getLocation());
+
+		o.setCreatedAt(now);
+		o.setUpdatedAt(now);
+		return o;
+	}
+}
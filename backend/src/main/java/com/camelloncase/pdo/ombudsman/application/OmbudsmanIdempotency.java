@@ -0,0 +1,107 @@
+package com.camelloncase.pdo.ombudsman.application;
+
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanClientRequestRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Resolves a front-end {@code client_request_id} to the case it created (ADR 0007).
+ * <p>
+ * Recent keys are answered from memory; concurrent requests with the same key share one
+ * in-flight creation. Across instances the primary key of {@code ombudsman_client_requests}
+ * is the arbiter: the losing insert rolls back and resolves to the winner's case.
+ */
+@Component
+public class OmbudsmanIdempotency {
+
+	private static final Duration RETENTION = Duration.ofMinutes(10);
+	private static final long MAXIMUM_SIZE = 100_000;
+
+	private final OmbudsmanClientRequestRepository clientRequests;
+	private final Cache<UUID, UUID> completed = Caffeine.newBuilder()
+			.maximumSize(MAXIMUM_SIZE)
+			.expireAfterWrite(RETENTION)
+			.build();
+	private final ConcurrentMap<UUID, CompletableFuture<UUID>> inFlight = new ConcurrentHashMap<>();
+
+	public OmbudsmanIdempotency(OmbudsmanClientRequestRepository clientRequests) {
+		this.clientRequests = clientRequests;
+	}
+
+	/**
+	 * @return the id of the case created for {@code clientRequestId}, running {@code create} only if there is none
+	 */
+	public UUID resolve(UUID clientRequestId, Supplier<UUID> create) {
+		UUID known = completed.getIfPresent(clientRequestId);
+		if (known != null) {
+			return known;
+		}
+
+		CompletableFuture<UUID> mine = new CompletableFuture<>();
+		CompletableFuture<UUID> running = inFlight.putIfAbsent(clientRequestId, mine);
+		if (running != null) {
+			return await(running);
+		}
+
+		try {
+			UUID id = clientRequests.findCaseId(clientRequestId)
+					.orElseGet(() -> createOrFindWinner(clientRequestId, create));
+			completed.put(clientRequestId, id);
+			mine.complete(id);
+			return id;
+		} catch (RuntimeException e) {
+			mine.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(clientRequestId, mine);
+		}
+	}
+
+	/**
+	 * Records a case created outside {@link #resolve}; inside a transaction only once it commits,
+	 * so a rolled-back batch never answers replays with a case that does not exist.
+	 */
+	public void remember(UUID clientRequestId, UUID id) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					completed.put(clientRequestId, id);
+				}
+			});
+			return;
+		}
+		completed.put(clientRequestId, id);
+	}
+
+	private UUID createOrFindWinner(UUID clientRequestId, Supplier<UUID> create) {
+		try {
+			return create.get();
+		} catch (DataIntegrityViolationException e) {
+			return clientRequests.findCaseId(clientRequestId).orElseThrow(() -> e);
+		}
+	}
+
+	private static UUID await(CompletableFuture<UUID> running) {
+		try {
+			return running.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.camelloncase.pdo.ombudsman.application;
+
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded (W-TinyLFU) read-through cache of mapped case responses.
+ * <p>
+ * Responses are keyed by id only; protocol numbers resolve through an id index that
+ * never goes stale (a protocol always belongs to the same case), so evicting by id is
+ * enough to invalidate both lookups.
+ */
+@Component
+public class OmbudsmanResponseCache {
+
+	private final Cache<UUID, OmbudsmanResponse> byId;
+	private final Cache<String, UUID> idByProtocol;
+
+	public OmbudsmanResponseCache(OmbudsmanCacheProperties properties, MeterRegistry meterRegistry) {
+		this.byId = Caffeine.newBuilder()
+				.maximumSize(properties.getMaximumSize())
+				.expireAfterWrite(properties.getTtl())
+				.recordStats()
+				.build();
+		this.idByProtocol = Caffeine.newBuilder()
+				.maximumSize(properties.getMaximumSize())
+				.recordStats()
+				.build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, byId, "ombudsman.byId");
+		CaffeineCacheMetrics.monitor(meterRegistry, idByProtocol, "ombudsman.idByProtocol");
+	}
+
+	public OmbudsmanResponse getById(UUID id, Function<UUID, OmbudsmanResponse> loader) {
+		OmbudsmanResponse response = byId.get(id, loader);
+		idByProtocol.put(protocolKey(response.protocolNumber()), id);
+		return response;
+	}
+
+	public OmbudsmanResponse getByProtocol(String protocolNumber, Supplier<OmbudsmanResponse> loader) {
+		String key = protocolKey(protocolNumber);
+		UUID id = idByProtocol.getIfPresent(key);
+		if (id != null) {
+			OmbudsmanResponse cached = byId.getIfPresent(id);
+			if (cached != null) {
+				return cached;
+			}
+		}
+
+		OmbudsmanResponse response = loader.get();
+		byId.put(response.id(), response);
+		idByProtocol.put(key, response.id());
+		return response;
+	}
+
+	/**
+	 * Same normalization as lookups ({@code OmbudsmanRules.normalizeProtocolNumber}), so spellings
+	 * of one protocol share a single entry.
+	 */
+	private static String protocolKey(String protocolNumber) {
+		return protocolNumber == null ? "" : protocolNumber.trim().toUpperCase(Locale.ROOT);
+	}
+
+	/**
+	 * Evicts now and again after commit, so a reader racing the write transaction
+	 * cannot leave the pre-commit state cached.
+	 */
+	public void evict(UUID id) {
+		byId.invalidate(id);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					byId.invalidate(id);
+				}
+			});
+		}
+	}
+}
@@ -1,22 +1,27 @@
 package com.camelloncase.pdo.ombudsman.application;
 
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanSearchRequest;
 import com.camelloncase.pdo.ombudsman.domain.Location;
 import com.camelloncase.pdo.ombudsman.domain.enums.CaseStatus;
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanSearchCriteria;
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanSpecifications;
 import com.camelloncase.pdo.shared.exception.BadRequestException;
-import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
-import java.time.Year;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 
 @Component
 public class OmbudsmanRules {
 
-	private final JdbcTemplate jdbc;
-
-	public OmbudsmanRules(JdbcTemplate jdbc) {
-		this.jdbc = jdbc;
-	}
+	public static final int DEFAULT_PAGE_SIZE = 20;
+	public static final int MAX_PAGE_SIZE = 100;
+	public static final int MAX_BATCH_SIZE = 500;
 
 	public void validateLocation(Location location) {
 		if (location == null) {
@@ -41,21 +46,77 @@ public class OmbudsmanRules {
 	}
 
 	public String normalizeProtocolNumber(String protocolNumber) {
-		return normalizeTrimmed(protocolNumber);
+		String trimmed = normalizeTrimmed(protocolNumber);
+		return trimmed == null ? null : trimmed.toUpperCase(Locale.ROOT);
 	}
 
 	public String normalizeOptionalText(String value) {
 		return normalizeTrimmed(value);
 	}
 
-	private String normalizeTrimmed(String value) {
-		return value == null ? "" : value.trim();
+	public int normalizePageSize(int size) {
+		if (size < 1) {
+			return DEFAULT_PAGE_SIZE;
+		}
+		return Math.min(size, MAX_PAGE_SIZE);
 	}
 
-	public String nextProtocol() {
-		Long seq = jdbc.queryForObject("select nextval('ombudsman_protocol_seq')", Long.class);
-		int year = Year.now().getValue();
-		return "DF-" + year + "-" + String.format("%06d", seq);
+	public OmbudsmanSearchCriteria toSearchCriteria(OmbudsmanSearchRequest filter) {
+		if (filter == null) {
+			return new OmbudsmanSearchCriteria(null, null, null, null, null, null, null, null);
+		}
+		return new OmbudsmanSearchCriteria(
+				filter.reporterIdentityId(),
+				normalizeProtocolNumber(filter.protocolNumber()),
+				normalizeOptionalText(filter.q()),
+				filter.category(),
+				filter.urgency(),
+				filter.currentStatus(),
+				toArea(filter),
+				toRadius(filter)
+		);
+	}
+
+	private OmbudsmanSearchCriteria.Area toArea(OmbudsmanSearchRequest filter) {
+		List<Double> bounds = Arrays.asList(
+				filter.minLongitude(), filter.minLatitude(), filter.maxLongitude(), filter.maxLatitude());
+		if (bounds.stream().allMatch(Objects::isNull)) {
+			return null;
+		}
+		if (bounds.stream().anyMatch(Objects::isNull)) {
+			throw new BadRequestException("minLongitude, minLatitude, maxLongitude and maxLatitude must be given together");
+		}
+		if (filter.minLongitude() > filter.maxLongitude() || filter.minLatitude() > filter.maxLatitude()) {
+			throw new BadRequestException("min bounds must not exceed max bounds");
+		}
+		return new OmbudsmanSearchCriteria.Area(
+				filter.minLongitude(), filter.minLatitude(), filter.maxLongitude(), filter.maxLatitude());
+	}
+
+	private OmbudsmanSearchCriteria.Radius toRadius(OmbudsmanSearchRequest filter) {
+		List<Double> circle = Arrays.asList(filter.nearLongitude(), filter.nearLatitude(), filter.radiusMeters());
+		if (circle.stream().allMatch(Objects::isNull)) {
+			return null;
+		}
+		if (circle.stream().anyMatch(Objects::isNull)) {
+			throw new BadRequestException("nearLongitude, nearLatitude and radiusMeters must be given together");
+		}
+		return new OmbudsmanSearchCriteria.Radius(filter.nearLongitude(), filter.nearLatitude(), filter.radiusMeters());
+	}
+
+	public Pageable withDefaultSort(Pageable pageable) {
+		if (pageable.isUnpaged() || pageable.getSort().isSorted()) {
+			return pageable;
+		}
+		return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), OmbudsmanSpecifications.NEWEST_FIRST);
+	}
+
+	private String normalizeTrimmed(String value) {
+		if (value == null) {
+			return null;
+		}
+		String trimmed = value.trim();
+		return trimmed.isEmpty() ? null : trimmed;
 	}
 
 	public String defaultNoteForStatus(CaseStatus status) {
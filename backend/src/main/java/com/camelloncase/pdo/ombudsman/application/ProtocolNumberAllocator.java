@@ -0,0 +1,159 @@
+package com.camelloncase.pdo.ombudsman.application;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Year;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pooled allocator for {@code DF-<year>-<seq>} protocol numbers.
+ * <p>
+ * {@code ombudsman_protocol_seq} increments by a block size (V7), so each {@code nextval} reserves the
+ * block {@code (value - increment, value]} for this instance. Numbers are then handed out from an
+ * {@link AtomicLong} with no round trip; only the thread that exhausts a block refills it.
+ * <p>
+ * Blocks are abandoned after {@link #BLOCK_TTL}, which bounds how long another instance can still
+ * issue a lower number (see {@link ProtocolNumberIndex}). Abandoned values and values lost on
+ * shutdown are gaps; protocol numbers are unique, not contiguous. The TTL and the block size (V16)
+ * together bound that waste: at most {@code increment - 1} numbers per instance per
+ * {@link #BLOCK_TTL} of idleness. The sequence is never reset, so the year prefix can roll over
+ * at any point.
+ */
+@Component
+public class ProtocolNumberAllocator {
+
+	static final Duration BLOCK_TTL = Duration.ofMinutes(30);
+
+	private static final String PREFIX = "DF-";
+	private static final int SEQUENCE_DIGITS = 6;
+
+	private final JdbcTemplate jdbc;
+	private final ReentrantLock refillLock = new ReentrantLock();
+	private final ZoneId zone = ZoneId.systemDefault();
+
+	private volatile Block block;
+	private volatile YearPrefix yearPrefix;
+
+	public ProtocolNumberAllocator(JdbcTemplate jdbc) {
+		this.jdbc = jdbc;
+	}
+
+	public String next() {
+		long now = System.currentTimeMillis();
+		return format(prefix(now), nextSequence(now));
+	}
+
+	/**
+	 * Allocates {@code count} numbers with a single {@code nextval} round trip, reserving
+	 * whole blocks for the batch; the tail of the last block becomes a gap.
+	 */
+	public List<String> next(int count) {
+		if (count <= 0) {
+			return List.of();
+		}
+		long now = System.currentTimeMillis();
+		String prefix = prefix(now);
+		// block size read in the same statement as the reservations, like refill()
+		List<long[]> blocks = jdbc.query("""
+				select nextval('ombudsman_protocol_seq'), s.increment_by
+				from pg_sequences s
+				cross join generate_series(1, ceil(cast(? as numeric) / s.increment_by)::integer)
+				where s.schemaname = current_schema() and s.sequencename = 'ombudsman_protocol_seq'
+				""", (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}, count);
+
+		List<String> numbers = new ArrayList<>(count);
+		for (long[] reserved : blocks) {
+			long hi = reserved[0];
+			for (long value = Math.max(1, hi - reserved[1] + 1); value <= hi && numbers.size() < count; value++) {
+				numbers.add(format(prefix, value));
+			}
+		}
+		return numbers;
+	}
+
+	private long nextSequence(long now) {
+		while (true) {
+			Block current = block;
+			if (current != null && now < current.expiresAt()) {
+				long value = current.next().getAndIncrement();
+				if (value <= current.hi()) {
+					return value;
+				}
+			}
+			refill(current, now);
+		}
+	}
+
+	private void refill(Block seen, long now) {
+		refillLock.lock();
+		try {
+			if (block != seen) {
+				return;
+			}
+			// increment_by read with every block, so a changed block size never overlaps an older one
+			long[] reserved = jdbc.queryForObject("""
+					select nextval('ombudsman_protocol_seq'), s.increment_by
+					from pg_sequences s
+					where s.schemaname = current_schema() and s.sequencename = 'ombudsman_protocol_seq'
+					""", (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+			long hi = reserved[0];
+			long lo = Math.max(1, hi - reserved[1] + 1);
+			block = new Block(new AtomicLong(lo), hi, now + BLOCK_TTL.toMillis());
+		} finally {
+			refillLock.unlock();
+		}
+	}
+
+	private String prefix(long now) {
+		YearPrefix current = yearPrefix;
+		if (current == null || now >= current.validUntil()) {
+			Year year = Year.now(zone);
+			long validUntil = year.plusYears(1).atDay(1).atStartOfDay(zone).toInstant().toEpochMilli();
+			current = new YearPrefix(PREFIX + year.getValue() + "-", validUntil);
+			yearPrefix = current;
+		}
+		return current.prefix();
+	}
+
+	static String format(String prefix, long sequence) {
+		String digits = Long.toString(sequence);
+		StringBuilder sb = new StringBuilder(prefix.length() + Math.max(SEQUENCE_DIGITS, digits.length()));
+		sb.append(prefix);
+		for (int i = digits.length(); i < SEQUENCE_DIGITS; i++) {
+			sb.append('0');
+		}
+		return sb.append(digits).toString();
+	}
+
+	/**
+	 * The year encoded in a {@code DF-<year>-<seq>} protocol, or empty when it has another shape.
+	 */
+	public static OptionalInt yearOf(String protocolNumber) {
+		if (protocolNumber == null
+				|| protocolNumber.length() < PREFIX.length() + 5
+				|| !protocolNumber.startsWith(PREFIX)
+				|| protocolNumber.charAt(PREFIX.length() + 4) != '-') {
+			return OptionalInt.empty();
+		}
+		int year = 0;
+		for (int i = PREFIX.length(); i < PREFIX.length() + 4; i++) {
+			char c = protocolNumber.charAt(i);
+			if (c < '0' || c > '9') {
+				return OptionalInt.empty();
+			}
+			year = year * 10 + (c - '0');
+		}
+		return OptionalInt.of(year);
+	}
+
+	private record Block(AtomicLong next, long hi, long expiresAt) {}
+
+	private record YearPrefix(String prefix, long validUntil) {}
+}
@@ -0,0 +1,198 @@
+package com.camelloncase.pdo.ombudsman.application;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory membership test for issued protocol numbers, used to answer unknown
+ * by-protocol lookups without a database round trip.
+ * <p>
+ * The filter is loaded from {@code ombudsman.protocol_number} after startup, fed by
+ * {@link com.camelloncase.pdo.ombudsman.application.usecase.CreateOmbudsmanUseCase} and
+ * topped up every {@link #SYNC_INTERVAL} with cases created by other instances.
+ * <p>
+ * A negative answer is only trusted up to a settled watermark: a sequence value sampled at
+ * least {@link #SETTLE} ago, by which time every block reserved below it has expired
+ * ({@link ProtocolNumberAllocator#BLOCK_TTL}) and its cases have been synced. Newer
+ * protocols, and every protocol before the first load completes, fall through to the database.
+ */
+@Component
+public class ProtocolNumberIndex {
+
+	private static final Logger log = LoggerFactory.getLogger(ProtocolNumberIndex.class);
+
+	static final Duration SYNC_INTERVAL = Duration.ofSeconds(5);
+	/**
+	 * Longest create transaction we tolerate between {@code created_at} and commit.
+	 */
+	static final Duration COMMIT_DELAY = Duration.ofMinutes(1);
+	/**
+	 * Block lifetime plus {@link #COMMIT_DELAY}.
+	 */
+	static final Duration SETTLE = ProtocolNumberAllocator.BLOCK_TTL.plus(COMMIT_DELAY);
+
+	private static final String PREFIX = "DF-";
+	private static final long MIN_CAPACITY = 1_000_000;
+	private static final double FALSE_POSITIVE_RATE = 0.01;
+
+	private final JdbcTemplate jdbc;
+	private final List<String> pending = new ArrayList<>();
+	private final Deque<long[]> samples = new ArrayDeque<>();
+
+	private volatile ProtocolBloomFilter filter;
+	private volatile long watermark = -1;
+	private Instant lastSync;
+
+	public ProtocolNumberIndex(JdbcTemplate jdbc) {
+		this.jdbc = jdbc;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		Thread.ofVirtual().name("protocol-index-loader").start(() -> {
+			try {
+				rebuild();
+			} catch (RuntimeException e) {
+				log.warn("Protocol index not loaded; by-protocol lookups will always hit the database", e);
+				return;
+			}
+			while (!Thread.currentThread().isInterrupted()) {
+				try {
+					Thread.sleep(SYNC_INTERVAL);
+					sync();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (RuntimeException e) {
+					log.warn("Protocol index sync failed; retrying in {}", SYNC_INTERVAL, e);
+				}
+			}
+		});
+	}
+
+	private void rebuild() {
+		Long rows = jdbc.queryForObject(
+				"""
+				select coalesce(sum(greatest(c.reltuples, 0)), 0)::bigint
+				from pg_partition_tree('ombudsman') t
+				join pg_class c on c.oid = t.relid
+				where t.isleaf
+				""", Long.class);
+		ProtocolBloomFilter created = new ProtocolBloomFilter(
+				Math.max(MIN_CAPACITY, 2 * (rows == null ? 0 : rows)), FALSE_POSITIVE_RATE);
+		synchronized (pending) {
+			pending.forEach(created::add);
+			pending.clear();
+			filter = created;
+		}
+
+		Instant started = sample();
+		AtomicLong loaded = new AtomicLong();
+		jdbc.query("select protocol_number from ombudsman", rs -> {
+			created.add(rs.getString(1));
+			loaded.incrementAndGet();
+		});
+		lastSync = started;
+
+		log.info("Protocol index loaded with {} protocol numbers", loaded.get());
+	}
+
+	private void sync() {
+		Instant started = sample();
+		// created_at is stamped when a number is issued, so only commit latency needs re-reading
+		OffsetDateTime since = lastSync.minus(COMMIT_DELAY).atOffset(ZoneOffset.UTC);
+		ProtocolBloomFilter current = filter;
+		jdbc.query("select protocol_number from ombudsman where created_at > ?",
+				rs -> {
+					current.add(rs.getString(1));
+				},
+				since);
+		lastSync = started;
+
+		long settledBefore = started.minus(SETTLE).toEpochMilli();
+		while (!samples.isEmpty() && samples.peekFirst()[0] <= settledBefore) {
+			watermark = samples.pollFirst()[1];
+		}
+	}
+
+	/**
+	 * Records the current end of the sequence; every number at or below it is already reserved.
+	 */
+	private Instant sample() {
+		Instant now = Instant.now();
+		Long last = jdbc.queryForObject("select last_value from ombudsman_protocol_seq", Long.class);
+		samples.addLast(new long[]{now.toEpochMilli(), last == null ? 0 : last});
+		return now;
+	}
+
+	public void add(String protocolNumber) {
+		ProtocolBloomFilter current = filter;
+		if (current == null) {
+			synchronized (pending) {
+				current = filter;
+				if (current == null) {
+					pending.add(protocolNumber);
+					return;
+				}
+			}
+		}
+		current.add(protocolNumber);
+	}
+
+	/**
+	 * @return {@code false} only when the protocol number was certainly never issued
+	 */
+	public boolean mightExist(String protocolNumber) {
+		long sequence = sequenceOf(protocolNumber);
+		if (sequence < 0) {
+			return false;
+		}
+		if (sequence > watermark) {
+			return true;
+		}
+		return filter.mightContain(protocolNumber);
+	}
+
+	/**
+	 * Sequence part of {@code DF-<year>-<seq>}, or -1 when the value is not a protocol number.
+	 */
+	private static long sequenceOf(String protocolNumber) {
+		if (protocolNumber == null || !protocolNumber.startsWith(PREFIX)) {
+			return -1;
+		}
+		int dash = protocolNumber.indexOf('-', PREFIX.length());
+		if (dash != PREFIX.length() + 4 || dash == protocolNumber.length() - 1) {
+			return -1;
+		}
+		long sequence = 0;
+		for (int i = PREFIX.length(); i < protocolNumber.length(); i++) {
+			if (i == dash) {
+				continue;
+			}
+			char c = protocolNumber.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			if (i > dash) {
+				if (sequence > (Long.MAX_VALUE - 9) / 10) {
+					return -1;
+				}
+				sequence = sequence * 10 + (c - '0');
+			}
+		}
+		return sequence;
+	}
+}
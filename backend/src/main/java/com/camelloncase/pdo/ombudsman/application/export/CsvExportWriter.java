@@ -0,0 +1,78 @@
+package com.camelloncase.pdo.ombudsman.application.export;
+
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanExportRow;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+class CsvExportWriter implements OmbudsmanExportWriter {
+
+	private static final String HEADER = "id,protocol_number,category,urgency,current_status,anonymous,"
+			+ "destination_agency_id,description,longitude,latitude,approx_address,created_at,updated_at";
+
+	private final Writer writer;
+
+	CsvExportWriter(OutputStream out) throws IOException {
+		this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		this.writer.write(HEADER);
+		this.writer.write("\r\n");
+	}
+
+	@Override
+	public void write(OmbudsmanExportRow row) throws IOException {
+		cell(row.id(), true);
+		cell(row.protocolNumber(), false);
+		cell(row.category(), false);
+		cell(row.urgency(), false);
+		cell(row.currentStatus(), false);
+		cell(row.anonymous(), false);
+		cell(row.destinationAgencyId(), false);
+		cell(row.description(), false);
+		cell(row.longitude(), false);
+		cell(row.latitude(), false);
+		cell(row.approxAddress(), false);
+		cell(row.createdAt(), false);
+		cell(row.updatedAt(), false);
+		writer.write("\r\n");
+	}
+
+	@Override
+	public void finish() throws IOException {
+		writer.flush();
+	}
+
+	private void cell(Object value, boolean first) throws IOException {
+		if (!first) {
+			writer.write(',');
+		}
+		if (value == null) {
+			return;
+		}
+		String text = value instanceof String string ? neutralizeFormula(string) : value.toString();
+		if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+			writer.write(text);
+			return;
+		}
+		writer.write('"');
+		writer.write(text.replace("\"", "\"\""));
+		writer.write('"');
+	}
+
+	/**
+	 * Citizen-supplied text is opened in spreadsheets; a leading quote keeps it from being
+	 * evaluated as a formula (CSV injection).
+	 */
+	private static String neutralizeFormula(String text) {
+		if (text.isEmpty()) {
+			return text;
+		}
+		return switch (text.charAt(0)) {
+			case '=', '+', '-', '@', '\t', '\r' -> "'" + text;
+			default -> text;
+		};
+	}
+}
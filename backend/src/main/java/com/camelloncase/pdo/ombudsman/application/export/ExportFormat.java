@@ -0,0 +1,36 @@
+package com.camelloncase.pdo.ombudsman.application.export;
+
+import com.camelloncase.pdo.shared.exception.BadRequestException;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+public enum ExportFormat {
+
+	NDJSON("application/x-ndjson", "ndjson"),
+	CSV("text/csv", "csv");
+
+	private final MediaType mediaType;
+	private final String extension;
+
+	ExportFormat(String mediaType, String extension) {
+		this.mediaType = MediaType.parseMediaType(mediaType);
+		this.extension = extension;
+	}
+
+	public MediaType getMediaType() {
+		return mediaType;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+
+	public static ExportFormat parse(String value) {
+		try {
+			return ExportFormat.valueOf(value.trim().toUpperCase(Locale.ROOT));
+		} catch (RuntimeException e) {
+			throw new BadRequestException("format must be one of: ndjson, csv");
+		}
+	}
+}
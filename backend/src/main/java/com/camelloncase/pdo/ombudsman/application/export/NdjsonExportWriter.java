@@ -0,0 +1,37 @@
+package com.camelloncase.pdo.ombudsman.application.export;
+
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanExportRow;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+class NdjsonExportWriter implements OmbudsmanExportWriter {
+
+	private final JsonGenerator generator;
+	private final ObjectWriter rowWriter;
+
+	NdjsonExportWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+		this.generator = objectMapper.getFactory().createGenerator(out);
+		this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		this.generator.setRootValueSeparator(null);
+		this.rowWriter = objectMapper.writerFor(OmbudsmanExportRow.class)
+				.without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				// flushing per row would push every case through the socket / gzip on its own
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+	}
+
+	@Override
+	public void write(OmbudsmanExportRow row) throws IOException {
+		rowWriter.writeValue(generator, row);
+		generator.writeRaw('\n');
+	}
+
+	@Override
+	public void finish() throws IOException {
+		generator.flush();
+	}
+}
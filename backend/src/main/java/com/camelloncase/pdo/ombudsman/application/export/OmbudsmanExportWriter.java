@@ -0,0 +1,16 @@
+package com.camelloncase.pdo.ombudsman.application.export;
+
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanExportRow;
+
+import java.io.IOException;
+
+/**
+ * Writes export rows one at a time. {@link #finish()} flushes but never closes the
+ * underlying stream, which belongs to the caller.
+ */
+public interface OmbudsmanExportWriter {
+
+	void write(OmbudsmanExportRow row) throws IOException;
+
+	void finish() throws IOException;
+}
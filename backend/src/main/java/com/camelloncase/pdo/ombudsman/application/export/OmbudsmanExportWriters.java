@@ -0,0 +1,18 @@
+package com.camelloncase.pdo.ombudsman.application.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public final class OmbudsmanExportWriters {
+
+	private OmbudsmanExportWriters() {}
+
+	public static OmbudsmanExportWriter open(ExportFormat format, OutputStream out, ObjectMapper objectMapper) throws IOException {
+		return switch (format) {
+			case NDJSON -> new NdjsonExportWriter(out, objectMapper);
+			case CSV -> new CsvExportWriter(out);
+		};
+	}
+}
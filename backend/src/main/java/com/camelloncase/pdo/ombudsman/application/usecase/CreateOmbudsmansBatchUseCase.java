@@ -0,0 +1,183 @@
+package com.camelloncase.pdo.ombudsman.application.usecase;
+
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanBatchCreateResponse;
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanBatchItemResult;
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanCreateRequest;
+import com.camelloncase.pdo.ombudsman.application.IzaTriageEnricher;
+import com.camelloncase.pdo.ombudsman.application.OmbudsmanFactory;
+import com.camelloncase.pdo.ombudsman.application.OmbudsmanIdempotency;
+import com.camelloncase.pdo.ombudsman.application.ProtocolNumberAllocator;
+import com.camelloncase.pdo.ombudsman.application.ProtocolNumberIndex;
+import com.camelloncase.pdo.ombudsman.domain.Ombudsman;
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanClientRequestRepository;
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanClientRequestRepository.RegisteredCase;
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanRepository;
+import com.camelloncase.pdo.shared.exception.BadRequestException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Bulk intake for partner channels. Every item is validated on its own; the valid ones get
+ * their protocols from one allocator call and are written in a single transaction, which
+ * Hibernate sends as ordered JDBC batches (see {@code hibernate.jdbc.batch_size}).
+ * Items whose {@code clientRequestId} already has a case in {@code ombudsman_client_requests}
+ * (soft-deleted or registered concurrently included), or appears earlier in the batch, are
+ * replays and resolve to that case.
+ */
+@Service
+public class CreateOmbudsmansBatchUseCase {
+
+	private final OmbudsmanRepository repository;
+	private final OmbudsmanFactory factory;
+	private final ProtocolNumberAllocator protocolAllocator;
+	private final ProtocolNumberIndex protocolIndex;
+	private final OmbudsmanIdempotency idempotency;
+	private final OmbudsmanClientRequestRepository clientRequests;
+	private final IzaTriageEnricher triage;
+	private final Validator validator;
+
+	public CreateOmbudsmansBatchUseCase(
+			OmbudsmanRepository repository,
+			OmbudsmanFactory factory,
+			ProtocolNumberAllocator protocolAllocator,
+			ProtocolNumberIndex protocolIndex,
+			OmbudsmanIdempotency idempotency,
+			OmbudsmanClientRequestRepository clientRequests,
+			IzaTriageEnricher triage,
+			Validator validator
+	) {
+		this.repository = repository;
+		this.factory = factory;
+		this.protocolAllocator = protocolAllocator;
+		this.protocolIndex = protocolIndex;
+		this.idempotency = idempotency;
+		this.clientRequests = clientRequests;
+		this.triage = triage;
+		this.validator = validator;
+	}
+
+	@Transactional
+	public OmbudsmanBatchCreateResponse execute(List<OmbudsmanCreateRequest> items) {
+		OmbudsmanBatchItemResult[] results = new OmbudsmanBatchItemResult[items.size()];
+		List<Integer> valid = new ArrayList<>(items.size());
+		Map<UUID, RegisteredCase> existing = existingByClientRequestId(items);
+		Map<UUID, Integer> firstIndex = new HashMap<>();
+		List<Integer> replays = new ArrayList<>();
+
+		for (int i = 0; i < items.size(); i++) {
+			OmbudsmanCreateRequest item = items.get(i);
+			UUID key = item == null ? null : item.clientRequestId();
+			RegisteredCase replayed = key == null ? null : existing.get(key);
+			if (replayed != null) {
+				results[i] = OmbudsmanBatchItemResult.created(i, replayed.caseId(), replayed.protocolNumber());
+				continue;
+			}
+			if (key != null && firstIndex.putIfAbsent(key, i) != null) {
+				replays.add(i);
+				continue;
+			}
+			List<String> errors = violations(item);
+			if (errors.isEmpty()) {
+				valid.add(i);
+			} else {
+				results[i] = OmbudsmanBatchItemResult.rejected(i, errors);
+			}
+		}
+
+		List<String> protocols = protocolAllocator.next(valid.size());
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		List<Ombudsman> cases = new ArrayList<>(valid.size());
+		List<Integer> indexes = new ArrayList<>(valid.size());
+
+		for (int i = 0; i < valid.size(); i++) {
+			int index = valid.get(i);
+			try {
+				cases.add(factory.newCase(items.get(index), protocols.get(i), now));
+				indexes.add(index);
+			} catch (BadRequestException e) {
+				results[index] = OmbudsmanBatchItemResult.rejected(index, List.of(e.getMessage()));
+			}
+		}
+
+		// ids are assigned on persist, so the keys are registered before the inserts are flushed;
+		// a key registered concurrently drops its case here and resolves to the winner's
+		List<Ombudsman> saved = repository.saveAll(cases);
+		Set<UUID> registered = clientRequests.registerAll(saved, now);
+		List<Ombudsman> lost = saved.stream()
+				.filter(o -> o.getClientRequestId() != null && !registered.contains(o.getClientRequestId()))
+				.toList();
+		if (!lost.isEmpty()) {
+			repository.deleteAll(lost);
+			existing.putAll(clientRequests.findCases(lost.stream().map(Ombudsman::getClientRequestId).toList()));
+		}
+		repository.flush();
+
+		List<Ombudsman> toTriage = new ArrayList<>(saved.size());
+		for (int i = 0; i < saved.size(); i++) {
+			Ombudsman o = saved.get(i);
+			int index = indexes.get(i);
+			if (lost.contains(o)) {
+				RegisteredCase winner = existing.get(o.getClientRequestId());
+				results[index] = winner == null
+						? OmbudsmanBatchItemResult.rejected(index, List.of("clientRequestId: already used"))
+						: OmbudsmanBatchItemResult.created(index, winner.caseId(), winner.protocolNumber());
+				continue;
+			}
+			protocolIndex.add(o.getProtocolNumber());
+			toTriage.add(o);
+			results[index] = OmbudsmanBatchItemResult.created(index, o.getId(), o.getProtocolNumber());
+			if (o.getClientRequestId() != null) {
+				idempotency.remember(o.getClientRequestId(), o.getId());
+			}
+		}
+		// one task for the whole batch, so it does not arrive at IZA's bulkhead all at once
+		triage.requestAfterCommit(toTriage);
+		for (int index : replays) {
+			OmbudsmanBatchItemResult first = results[firstIndex.get(items.get(index).clientRequestId())];
+			results[index] = first.created()
+					? OmbudsmanBatchItemResult.created(index, first.id(), first.protocolNumber())
+					: OmbudsmanBatchItemResult.rejected(index, first.errors());
+		}
+
+		int created = (int) Arrays.stream(results).filter(OmbudsmanBatchItemResult::created).count();
+		return new OmbudsmanBatchCreateResponse(created, items.size() - created, Arrays.asList(results));
+	}
+
+	private Map<UUID, RegisteredCase> existingByClientRequestId(List<OmbudsmanCreateRequest> items) {
+		List<UUID> keys = items.stream()
+				.filter(Objects::nonNull)
+				.map(OmbudsmanCreateRequest::clientRequestId)
+				.filter(Objects::nonNull)
+				.distinct()
+				.toList();
+		return clientRequests.findCases(keys);
+	}
+
+	private List<String> violations(OmbudsmanCreateRequest item) {
+		if (item == null) {
+			return List.of("item is required");
+		}
+		return validator.validate(item).stream()
+				.sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+				.map(CreateOmbudsmansBatchUseCase::describe)
+				.toList();
+	}
+
+	private static String describe(ConstraintViolation<OmbudsmanCreateRequest> violation) {
+		return violation.getPropertyPath() + ": " + violation.getMessage();
+	}
+}
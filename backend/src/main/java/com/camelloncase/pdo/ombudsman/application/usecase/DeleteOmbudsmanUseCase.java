@@ -1,6 +1,9 @@
 package com.camelloncase.pdo.ombudsman.application.usecase;
 
-import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanRepository;
+import com.camelloncase.pdo.ombudsman.application.OmbudsmanResponseCache;
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanDeletionRepository;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.UUID;
 
 import com.camelloncase.pdo.shared.exception.NotFoundException;
@@ -10,17 +13,25 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class DeleteOmbudsmanUseCase {
 
-	private final OmbudsmanRepository repository;
+	private final OmbudsmanDeletionRepository repository;
+	private final OmbudsmanResponseCache cache;
 
-	public DeleteOmbudsmanUseCase(OmbudsmanRepository repository) {
+	public DeleteOmbudsmanUseCase(OmbudsmanDeletionRepository repository, OmbudsmanResponseCache cache) {
 		this.repository = repository;
+		this.cache = cache;
 	}
 
+	/**
+	 * Soft delete marks {@code deleted_at}; hard delete removes the row (and its history) for good.
+	 */
 	@Transactional
-	public void execute(UUID id) {
-		if (!repository.existsById(id)) {
+	public void execute(UUID id, boolean hard) {
+		boolean deleted = hard
+				? repository.hardDelete(id)
+				: repository.softDelete(id, OffsetDateTime.now(ZoneOffset.UTC));
+		if (!deleted) {
 			throw new NotFoundException("Ombudsman not found: " + id);
 		}
-		repository.deleteById(id);
+		cache.evict(id);
 	}
 }
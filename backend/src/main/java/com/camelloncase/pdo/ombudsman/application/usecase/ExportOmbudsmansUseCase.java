@@ -0,0 +1,48 @@
+package com.camelloncase.pdo.ombudsman.application.usecase;
+
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanSearchRequest;
+import com.camelloncase.pdo.ombudsman.application.OmbudsmanRules;
+import com.camelloncase.pdo.ombudsman.application.export.ExportFormat;
+import com.camelloncase.pdo.ombudsman.application.export.OmbudsmanExportWriter;
+import com.camelloncase.pdo.ombudsman.application.export.OmbudsmanExportWriters;
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanExportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+@Service
+public class ExportOmbudsmansUseCase {
+
+	private final OmbudsmanExportRepository repository;
+	private final OmbudsmanRules rules;
+	private final ObjectMapper objectMapper;
+
+	public ExportOmbudsmansUseCase(OmbudsmanExportRepository repository, OmbudsmanRules rules, ObjectMapper objectMapper) {
+		this.repository = repository;
+		this.rules = rules;
+		this.objectMapper = objectMapper;
+	}
+
+	@Transactional(readOnly = true)
+	public void execute(OmbudsmanSearchRequest filter, ExportFormat format, OutputStream out) throws IOException {
+		OmbudsmanExportWriter writer = OmbudsmanExportWriters.open(format, out, objectMapper);
+
+		try {
+			repository.forEach(rules.toSearchCriteria(filter), row -> {
+				try {
+					writer.write(row);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+
+		writer.finish();
+	}
+}
@@ -1,9 +1,16 @@
 package com.camelloncase.pdo.ombudsman.application.usecase;
 
 import com.camelloncase.pdo.ombudsman.application.OmbudsmanRules;
+import com.camelloncase.pdo.ombudsman.application.ProtocolNumberAllocator;
+import com.camelloncase.pdo.ombudsman.application.ProtocolNumberIndex;
 import com.camelloncase.pdo.ombudsman.domain.Ombudsman;
 import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanRepository;
 import com.camelloncase.pdo.shared.exception.NotFoundException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.OptionalInt;
+
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,17 +19,35 @@ public class GetOmbudsmanByProtocolUseCase {
 
 	private final OmbudsmanRepository repository;
 	private final OmbudsmanRules rules;
+	private final ProtocolNumberIndex protocolIndex;
 
-	public GetOmbudsmanByProtocolUseCase(OmbudsmanRepository repository, OmbudsmanRules rules) {
+	public GetOmbudsmanByProtocolUseCase(OmbudsmanRepository repository, OmbudsmanRules rules, ProtocolNumberIndex protocolIndex) {
 		this.repository = repository;
 		this.rules = rules;
+		this.protocolIndex = protocolIndex;
 	}
 
 	@Transactional(readOnly = true)
 	public Ombudsman execute(String protocolNumber) {
 		String normalized = rules.normalizeProtocolNumber(protocolNumber);
-		return repository.findByProtocolNumber(normalized)
+		if (!protocolIndex.mightExist(normalized)) {
+			throw new NotFoundException("Ombudsman not found: protocol=" + normalized);
+		}
+		return inProtocolYear(normalized)
+				.or(() -> repository.findByProtocolNumber(normalized))
 				.orElseThrow(() -> new NotFoundException("Ombudsman not found: protocol=" + normalized));
 	}
-}
 
+	/**
+	 * Cases are created in the year their protocol names, give or take the server's UTC offset;
+	 * the unbounded lookup only runs when that misses.
+	 */
+	private Optional<Ombudsman> inProtocolYear(String protocolNumber) {
+		OptionalInt year = ProtocolNumberAllocator.yearOf(protocolNumber);
+		if (year.isEmpty()) {
+			return Optional.empty();
+		}
+		OffsetDateTime from = OffsetDateTime.of(year.getAsInt(), 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).minusDays(1);
+		return repository.findByProtocolNumberCreatedBetween(protocolNumber, from, from.plusYears(1).plusDays(2));
+	}
+}
@@ -0,0 +1,24 @@
+package com.camelloncase.pdo.ombudsman.application.usecase;
+
+import com.camelloncase.pdo.ombudsman.domain.CaseStatusHistoryEntry;
+import com.camelloncase.pdo.ombudsman.infrastructure.CaseStatusHistoryRepository;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class GetStatusHistoryUseCase {
+
+	private final CaseStatusHistoryRepository repository;
+
+	public GetStatusHistoryUseCase(CaseStatusHistoryRepository repository) {
+		this.repository = repository;
+	}
+
+	@Transactional(readOnly = true)
+	public List<CaseStatusHistoryEntry> execute(UUID caseId) {
+		return repository.findByCaseIdOrderByChangedAtAsc(caseId);
+	}
+}
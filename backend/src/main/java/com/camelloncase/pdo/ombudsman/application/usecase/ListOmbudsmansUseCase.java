@@ -1,15 +1,25 @@
 package com.camelloncase.pdo.ombudsman.application.usecase;
 
 import com.camelloncase.pdo.ombudsman.api.OmbudsmanMapper;
+import com.camelloncase.pdo.ombudsman.api.dto.CursorPageResponse;
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanSearchRequest;
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanSummaryResponse;
+import com.camelloncase.pdo.ombudsman.api.dto.SliceResponse;
+import com.camelloncase.pdo.ombudsman.application.OmbudsmanCursor;
 import com.camelloncase.pdo.ombudsman.application.OmbudsmanRules;
 import com.camelloncase.pdo.ombudsman.domain.Ombudsman;
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanCountEstimator;
 import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanRepository;
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanSearchCriteria;
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanSpecifications;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.UUID;
+import java.util.List;
 
 @Service
 public class ListOmbudsmansUseCase {
@@ -17,30 +27,82 @@ public class ListOmbudsmansUseCase {
 	private final OmbudsmanRepository repository;
 	private final OmbudsmanMapper mapper;
 	private final OmbudsmanRules rules;
+	private final OmbudsmanCountEstimator countEstimator;
 
-	public ListOmbudsmansUseCase(OmbudsmanRepository repository, OmbudsmanMapper mapper, OmbudsmanRules rules) {
+	public ListOmbudsmansUseCase(
+			OmbudsmanRepository repository,
+			OmbudsmanMapper mapper,
+			OmbudsmanRules rules,
+			OmbudsmanCountEstimator countEstimator
+	) {
 		this.repository = repository;
 		this.mapper = mapper;
 		this.rules = rules;
+		this.countEstimator = countEstimator;
 	}
 
 	@Transactional(readOnly = true)
-	public Page<Ombudsman> execute(
-			UUID reporterIdentityId,
-			String protocolNumber,
-			String category,
-			String urgency,
-			String currentStatus,
-			Pageable pageable
-	) {
-		return repository.search(
-				reporterIdentityId,
-				rules.normalizeProtocolNumber(protocolNumber),
-				rules.normalizeOptionalText(category),
-				rules.normalizeOptionalText(urgency),
-				rules.normalizeOptionalText(currentStatus),
-				pageable
-		);
+	public Page<Ombudsman> execute(OmbudsmanSearchRequest filter, Pageable pageable) {
+		OmbudsmanSearchCriteria criteria = rules.toSearchCriteria(filter);
+		return repository.findAll(specification(criteria, pageable), pageable(criteria, pageable));
+	}
+
+	@Transactional(readOnly = true)
+	public SliceResponse<Ombudsman> executeSlice(OmbudsmanSearchRequest filter, Pageable pageable, boolean approximateTotal) {
+		OmbudsmanSearchCriteria criteria = rules.toSearchCriteria(filter);
+
+		Slice<Ombudsman> slice = repository.findSlice(specification(criteria, pageable), pageable(criteria, pageable));
+
+		Long total = approximateTotal ? countEstimator.estimate(criteria) : null;
+
+		return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), total);
+	}
+
+	@Transactional(readOnly = true)
+	public SliceResponse<OmbudsmanSummaryResponse> executeSummary(OmbudsmanSearchRequest filter, Pageable pageable, boolean approximateTotal) {
+		OmbudsmanSearchCriteria criteria = rules.toSearchCriteria(filter);
+
+		Slice<OmbudsmanSummaryResponse> slice =
+				repository.findSummarySlice(specification(criteria, pageable), pageable(criteria, pageable));
+
+		Long total = approximateTotal ? countEstimator.estimate(criteria) : null;
+
+		return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), total);
+	}
+
+	@Transactional(readOnly = true)
+	public CursorPageResponse<Ombudsman> executeAfter(OmbudsmanSearchRequest filter, String after, int size) {
+		int limit = rules.normalizePageSize(size);
+
+		Specification<Ombudsman> spec = OmbudsmanSpecifications.matching(rules.toSearchCriteria(filter));
+		if (after != null && !after.isBlank()) {
+			OmbudsmanCursor cursor = OmbudsmanCursor.decode(after.trim());
+			spec = spec.and(OmbudsmanSpecifications.after(cursor.createdAt(), cursor.id()));
+		}
+
+		List<Ombudsman> rows = repository.findFirst(spec, OmbudsmanSpecifications.NEWEST_FIRST, limit + 1);
+
+		boolean hasNext = rows.size() > limit;
+		List<Ombudsman> content = hasNext ? rows.subList(0, limit) : rows;
+		String nextCursor = hasNext ? OmbudsmanCursor.of(content.get(limit - 1)).encode() : null;
+
+		return new CursorPageResponse<>(content, limit, hasNext, nextCursor);
+	}
+
+	private Specification<Ombudsman> specification(OmbudsmanSearchCriteria criteria, Pageable pageable) {
+		Specification<Ombudsman> spec = OmbudsmanSpecifications.matching(criteria);
+		if (isRanked(criteria, pageable)) {
+			spec = spec.and(OmbudsmanSpecifications.rankedBy(criteria.text()));
+		}
+		return spec;
+	}
+
+	private Pageable pageable(OmbudsmanSearchCriteria criteria, Pageable pageable) {
+		return isRanked(criteria, pageable) ? pageable : rules.withDefaultSort(pageable);
+	}
+
+	private boolean isRanked(OmbudsmanSearchCriteria criteria, Pageable pageable) {
+		return criteria.text() != null && pageable.getSort().isUnsorted();
 	}
 
 }
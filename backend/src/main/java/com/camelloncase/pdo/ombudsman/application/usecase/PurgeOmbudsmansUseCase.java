@@ -0,0 +1,63 @@
+package com.camelloncase.pdo.ombudsman.application.usecase;
+
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanSearchRequest;
+import com.camelloncase.pdo.ombudsman.application.OmbudsmanResponseCache;
+import com.camelloncase.pdo.ombudsman.application.OmbudsmanRules;
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanDeletionRepository;
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanSearchCriteria;
+import com.camelloncase.pdo.shared.exception.BadRequestException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Deletes every case matching a filter in chunks of {@link #CHUNK_SIZE}, one short transaction
+ * each, so a large cleanup never holds row locks for long. Hard purges also remove rows that
+ * were already soft-deleted.
+ */
+@Service
+public class PurgeOmbudsmansUseCase {
+
+	static final int CHUNK_SIZE = 1000;
+
+	private final OmbudsmanDeletionRepository repository;
+	private final OmbudsmanRules rules;
+	private final OmbudsmanResponseCache cache;
+	private final TransactionTemplate transactionTemplate;
+
+	public PurgeOmbudsmansUseCase(
+			OmbudsmanDeletionRepository repository,
+			OmbudsmanRules rules,
+			OmbudsmanResponseCache cache,
+			TransactionTemplate transactionTemplate
+	) {
+		this.repository = repository;
+		this.rules = rules;
+		this.cache = cache;
+		this.transactionTemplate = transactionTemplate;
+	}
+
+	/**
+	 * @return number of cases deleted
+	 */
+	public long execute(OmbudsmanSearchRequest filter, boolean hard) {
+		OmbudsmanSearchCriteria criteria = rules.toSearchCriteria(filter);
+		if (criteria.isEmpty()) {
+			throw new BadRequestException("purge requires at least one filter");
+		}
+
+		long total = 0;
+		List<UUID> chunk;
+		do {
+			chunk = transactionTemplate.execute(status -> repository.purgeChunk(
+					criteria, hard, OffsetDateTime.now(ZoneOffset.UTC), CHUNK_SIZE));
+			chunk.forEach(cache::evict);
+			total += chunk.size();
+		} while (chunk.size() == CHUNK_SIZE);
+		return total;
+	}
+}
@@ -0,0 +1,72 @@
+package com.camelloncase.pdo.ombudsman.application.usecase;
+
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanStatusTransitionRequest;
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanStatusTransitionResponse;
+import com.camelloncase.pdo.ombudsman.application.OmbudsmanResponseCache;
+import com.camelloncase.pdo.ombudsman.application.OmbudsmanRules;
+import com.camelloncase.pdo.ombudsman.domain.enums.CaseStatus;
+import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanStatusRepository;
+import com.camelloncase.pdo.ombudsman.infrastructure.forwarding.ForwardingOutboxRepository;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Moves many cases to one status with a single set-based statement; the state machine
+ * is enforced in SQL, so ids in a status that cannot reach the target are skipped.
+ */
+@Service
+public class TransitionOmbudsmansStatusUseCase {
+
+	private final OmbudsmanStatusRepository repository;
+	private final OmbudsmanRules rules;
+	private final OmbudsmanResponseCache cache;
+	private final ForwardingOutboxRepository outbox;
+
+	public TransitionOmbudsmansStatusUseCase(
+			OmbudsmanStatusRepository repository,
+			OmbudsmanRules rules,
+			OmbudsmanResponseCache cache,
+			ForwardingOutboxRepository outbox
+	) {
+		this.repository = repository;
+		this.rules = rules;
+		this.cache = cache;
+		this.outbox = outbox;
+	}
+
+	@Transactional
+	public OmbudsmanStatusTransitionResponse execute(OmbudsmanStatusTransitionRequest req, UUID changedBy) {
+		Set<UUID> ids = new LinkedHashSet<>(req.ids());
+
+		String note = rules.normalizeOptionalText(req.statusNote());
+		if (note == null) {
+			note = rules.defaultNoteForStatus(req.targetStatus());
+		}
+
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		Set<UUID> moved = new HashSet<>(repository.transition(
+				ids,
+				req.targetStatus(),
+				req.destinationAgencyId(),
+				note,
+				changedBy,
+				now
+		));
+		moved.forEach(cache::evict);
+		if (req.targetStatus() == CaseStatus.FORWARDED) {
+			outbox.enqueue(moved, now);
+		}
+
+		List<UUID> updated = ids.stream().filter(moved::contains).toList();
+		List<UUID> skipped = ids.stream().filter(id -> !moved.contains(id)).toList();
+		return new OmbudsmanStatusTransitionResponse(req.targetStatus(), updated, skipped);
+	}
+}
@@ -1,14 +1,25 @@
 package com.camelloncase.pdo.ombudsman.application.usecase;
 
 import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanUpdateRequest;
+import com.camelloncase.pdo.ombudsman.application.OmbudsmanResponseCache;
 import com.camelloncase.pdo.ombudsman.application.OmbudsmanRules;
+import com.camelloncase.pdo.ombudsman.domain.CaseStatusHistoryEntry;
 import com.camelloncase.pdo.ombudsman.domain.Ombudsman;
+import com.camelloncase.pdo.ombudsman.domain.enums.CaseStatus;
+import com.camelloncase.pdo.ombudsman.infrastructure.CaseStatusHistoryRepository;
 import com.camelloncase.pdo.ombudsman.infrastructure.OmbudsmanRepository;
+import com.camelloncase.pdo.ombudsman.infrastructure.forwarding.ForwardingOutboxRepository;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
+import com.camelloncase.pdo.shared.exception.BadRequestException;
 import com.camelloncase.pdo.shared.exception.NotFoundException;
+import com.camelloncase.pdo.shared.exception.PreconditionFailedException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,29 +27,89 @@ import org.springframework.transaction.annotation.Transactional;
 public class UpdateOmbudsmanUseCase {
 
 	private final OmbudsmanRepository repository;
+	private final CaseStatusHistoryRepository historyRepository;
 	private final OmbudsmanRules rules;
+	private final OmbudsmanResponseCache cache;
+	private final ForwardingOutboxRepository outbox;
 
-	public UpdateOmbudsmanUseCase(OmbudsmanRepository repository, OmbudsmanRules rules) {
+	public UpdateOmbudsmanUseCase(
+			OmbudsmanRepository repository,
+			CaseStatusHistoryRepository historyRepository,
+			OmbudsmanRules rules,
+			OmbudsmanResponseCache cache,
+			ForwardingOutboxRepository outbox
+	) {
 		this.repository = repository;
+		this.historyRepository = historyRepository;
 		this.rules = rules;
+		this.cache = cache;
+		this.outbox = outbox;
 	}
 
 	@Transactional
-	public Ombudsman execute(UUID id, OmbudsmanUpdateRequest req) {
+	public Ombudsman execute(UUID id, OmbudsmanUpdateRequest req, Set<Long> expectedVersions) {
 		Ombudsman existing = repository.findById(id)
 				.orElseThrow(() -> new NotFoundException("Ombudsman not found: " + id));
 
+		// a concurrent commit between here and flush still fails on the @Version check
+		if (expectedVersions != null && !expectedVersions.contains(existing.getVersion())) {
+			throw new PreconditionFailedException("Ombudsman " + id + " has changed (version " + existing.getVersion() + ")");
+		}
+
+		// archive partitions only hold COMPLETED cases
+		if (existing.isArchived() && req.currentStatus() != null && req.currentStatus() != CaseStatus.COMPLETED) {
+			throw new BadRequestException("Ombudsman " + id + " is archived and can no longer change status");
+		}
+
 		String note = rules.normalizeOptionalText(req.statusNote());
 		if (note == null || note.isBlank()) {
 			note = rules.defaultNoteForStatus(req.currentStatus());
 		}
 
-		existing.changeStatus(req.currentStatus(), note, null);
+		CaseStatusHistoryEntry transition = existing.changeStatus(req.currentStatus(), note, null);
+		if (transition != null) {
+			historyRepository.save(transition);
+		}
+		UUID previousAgencyId = existing.getDestinationAgencyId();
 		existing.setDestinationAgencyId(req.destinationAgencyId());
 
+		boolean forwarded = existing.getCurrentStatus() == CaseStatus.FORWARDED;
+		if (forwarded && existing.getDestinationAgencyId() == null) {
+			throw new BadRequestException("A forwarded ombudsman needs a destinationAgencyId");
+		}
+
 		rules.validateLocation(existing.getLocation());
 
 		existing.setUpdatedAt(OffsetDateTime.now());
-		return repository.save(existing);
+		cache.evict(id);
+
+		// forwarding again to another agency queues a new message; the previous one stays as it is
+		boolean redirected = !Objects.equals(previousAgencyId, existing.getDestinationAgencyId());
+		boolean enqueue = forwarded && (transition != null || redirected);
+		if (!enqueue && expectedVersions == null) {
+			return repository.save(existing);
+		}
+
+		// the outbox row is built from the flushed case, in this same transaction
+		Ombudsman saved = flush(existing, expectedVersions);
+		if (enqueue) {
+			outbox.enqueue(List.of(id), OffsetDateTime.now(ZoneOffset.UTC));
+		}
+		return saved;
+	}
+
+	/**
+	 * Flushes here rather than at commit, so a conditional request that loses the race with
+	 * another writer of the same version gets 412 instead of the generic 409.
+	 */
+	private Ombudsman flush(Ombudsman existing, Set<Long> expectedVersions) {
+		try {
+			return repository.saveAndFlush(existing);
+		} catch (OptimisticLockingFailureException e) {
+			if (expectedVersions == null) {
+				throw e;
+			}
+			throw new PreconditionFailedException("Ombudsman " + existing.getId() + " has changed concurrently");
+		}
 	}
 }
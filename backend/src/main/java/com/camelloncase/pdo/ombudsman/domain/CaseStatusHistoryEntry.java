@@ -0,0 +1,79 @@
+package com.camelloncase.pdo.ombudsman.domain;
+
+import com.camelloncase.pdo.ombudsman.domain.enums.CaseStatus;
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * One status transition of a case. Rows are only ever inserted; {@code case_id} is a
+ * soft FK to {@code ombudsman.id} (ADR 0006).
+ */
+@Entity
+@Table(name = "case_status_history_entries")
+public class CaseStatusHistoryEntry {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.UUID)
+	@Column(name = "id", nullable = false, columnDefinition = "uuid")
+	private UUID id;
+
+	@Column(name = "case_id", nullable = false, updatable = false, columnDefinition = "uuid")
+	private UUID caseId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", nullable = false, updatable = false, length = 30)
+	private CaseStatus status;
+
+	@Column(name = "changed_at", nullable = false, updatable = false)
+	private OffsetDateTime changedAt;
+
+	@Column(name = "note", updatable = false, length = 1000)
+	private String note;
+
+	@Column(name = "changed_by_user_id", updatable = false, columnDefinition = "uuid")
+	private UUID changedByUserId;
+
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private OffsetDateTime createdAt;
+
+	@Column(name = "updated_at", nullable = false, updatable = false)
+	private OffsetDateTime updatedAt;
+
+	protected CaseStatusHistoryEntry() {}
+
+	public CaseStatusHistoryEntry(UUID caseId, CaseStatus status, OffsetDateTime changedAt, String note, UUID changedByUserId) {
+		this.caseId = caseId;
+		this.status = status;
+		this.changedAt = changedAt;
+		this.note = note;
+		this.changedByUserId = changedByUserId;
+		this.createdAt = changedAt;
+		this.updatedAt = changedAt;
+	}
+
+	public UUID getId() {
+		return id;
+	}
+
+	public UUID getCaseId() {
+		return caseId;
+	}
+
+	public CaseStatus getStatus() {
+		return status;
+	}
+
+	public OffsetDateTime getChangedAt() {
+		return changedAt;
+	}
+
+	public String getNote() {
+		return note;
+	}
+
+	public UUID getChangedByUserId() {
+		return changedByUserId;
+	}
+}
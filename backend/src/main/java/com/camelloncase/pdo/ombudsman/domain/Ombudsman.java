@@ -4,6 +4,8 @@ import com.camelloncase.pdo.ombudsman.domain.enums.CaseCategory;
 import com.camelloncase.pdo.ombudsman.domain.enums.CaseStatus;
 import com.camelloncase.pdo.ombudsman.domain.enums.UrgencyLevel;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
@@ -12,6 +14,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "ombudsman")
+@SQLRestriction("deleted_at is null")
 public class Ombudsman {
 
 	@Id
@@ -29,6 +32,9 @@ public class Ombudsman {
 	@Column(name = "description", nullable = false, length = 4000)
 	private String description;
 
+	@Column(name = "description_tsv", columnDefinition = "tsvector", insertable = false, updatable = false)
+	private String descriptionTsv;
+
 	@Enumerated(EnumType.STRING)
 	@Column(name = "urgency", length = 50)
 	private UrgencyLevel urgency;
@@ -50,22 +56,28 @@ public class Ombudsman {
 	private UUID reporterIdentityId;
 
 	@ElementCollection
+	@BatchSize(size = 100)
 	@CollectionTable(name = "ombudsman_attachment_urls", joinColumns = @JoinColumn(name = "ombudsman_id"))
 	@Column(name = "attachment_url", length = 500)
 	@OrderColumn(name="stage")
 	private List<String> attachmentUrls = new ArrayList<>();
 
-	@ElementCollection
-	@CollectionTable(name="ombudsman_status_history", joinColumns=@JoinColumn(name="ombudsman_id"))
-	@OrderColumn(name="stage")
-	private List<StatusHistoryEntry> statusHistory = new ArrayList<>();
-
 	@Embedded
 	private IzaTriageResult izaTriageResult;
 
 	@Embedded
 	private Location location;
 
+	@Column(name = "client_request_id", updatable = false, columnDefinition = "uuid")
+	private UUID clientRequestId;
+
+	@Version
+	@Column(name = "version", nullable = false)
+	private long version;
+
+	@Column(name = "archived", nullable = false, updatable = false)
+	private boolean archived;
+
 	@Column(name = "created_at", nullable = false)
 	private OffsetDateTime createdAt;
 
@@ -174,10 +186,6 @@ public class Ombudsman {
 		this.attachmentUrls = (attachmentUrls == null) ? new ArrayList<>() : new ArrayList<>(attachmentUrls);
 	}
 
-	public List<StatusHistoryEntry> getStatusHistory() {
-		return statusHistory;
-	}
-
 	public IzaTriageResult getIzaTriageResultId() {
 		return izaTriageResult;
 	}
@@ -194,6 +202,18 @@ public class Ombudsman {
 		this.location = location;
 	}
 
+	public UUID getClientRequestId() {
+		return clientRequestId;
+	}
+
+	public void setClientRequestId(UUID clientRequestId) {
+		this.clientRequestId = clientRequestId;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
 	public OffsetDateTime getCreatedAt() {
 		return createdAt;
 	}
@@ -210,22 +230,31 @@ public class Ombudsman {
 		this.updatedAt = updatedAt;
 	}
 
-	public void changeStatus(CaseStatus newStatus, String note, UUID changedByUserId) {
-		if (newStatus == null) return;
-		if (this.currentStatus == newStatus) return;
+	/**
+	 * Whether the case sits in the cold archive partition; set only by the archiver.
+	 */
+	public boolean isArchived() {
+		return archived;
+	}
+
+	/**
+	 * Moves the case to {@code newStatus} in place.
+	 *
+	 * @return the history entry to append, or {@code null} when the status did not change
+	 */
+	public CaseStatusHistoryEntry changeStatus(CaseStatus newStatus, String note, UUID changedByUserId) {
+		if (newStatus == null) return null;
+		if (this.currentStatus == newStatus) return null;
 
 		this.currentStatus = newStatus;
 
-		if (this.statusHistory == null) {
-			this.statusHistory = new ArrayList<>();
-		}
-
-		this.statusHistory.add(new StatusHistoryEntry(
+		return new CaseStatusHistoryEntry(
+				id,
 				newStatus,
 				OffsetDateTime.now(),
 				note,
 				changedByUserId
-		));
+		);
 	}
 
 }
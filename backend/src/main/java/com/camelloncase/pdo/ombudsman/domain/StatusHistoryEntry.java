@@ -1,28 +1,21 @@
 package com.camelloncase.pdo.ombudsman.domain;
 
 import com.camelloncase.pdo.ombudsman.domain.enums.CaseStatus;
-import jakarta.persistence.Column;
-import jakarta.persistence.Embeddable;
-import jakarta.persistence.EnumType;
-import jakarta.persistence.Enumerated;
 
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
-@Embeddable
+/**
+ * Status history as exposed by the API; persisted as {@link CaseStatusHistoryEntry}.
+ */
 public class StatusHistoryEntry {
 
-	@Enumerated(EnumType.STRING)
-	@Column(name = "status", nullable = false, length = 50)
 	private CaseStatus status;
 
-	@Column(name = "changed_at", nullable = false)
 	private OffsetDateTime changedAt;
 
-	@Column(name = "note", length = 1000)
 	private String note;
 
-	@Column(name = "changed_by_user_id", columnDefinition = "uuid")
 	private UUID changedByUserId;
 
 	protected StatusHistoryEntry() {}
@@ -1,10 +1,27 @@
 package com.camelloncase.pdo.ombudsman.domain.enums;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum CaseStatus {
 	RECEIVED,
 	TRIAGE,
 	FORWARDED,
 	IN_EXECUTION,
 	COMPLETED,
-	SCHEDULED
+	SCHEDULED;
+
+	/**
+	 * Statuses a case may move to this one from (docs/domain/state-machine-status.md).
+	 */
+	public Set<CaseStatus> allowedFrom() {
+		return switch (this) {
+			case RECEIVED -> EnumSet.noneOf(CaseStatus.class);
+			case TRIAGE -> EnumSet.of(RECEIVED);
+			case FORWARDED -> EnumSet.of(RECEIVED, TRIAGE);
+			case SCHEDULED -> EnumSet.of(FORWARDED);
+			case IN_EXECUTION -> EnumSet.of(FORWARDED, SCHEDULED);
+			case COMPLETED -> EnumSet.of(IN_EXECUTION);
+		};
+	}
 }
@@ -0,0 +1,12 @@
+package com.camelloncase.pdo.ombudsman.infrastructure;
+
+import com.camelloncase.pdo.ombudsman.domain.CaseStatusHistoryEntry;
+
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CaseStatusHistoryRepository extends JpaRepository<CaseStatusHistoryEntry, UUID> {
+
+	List<CaseStatusHistoryEntry> findByCaseIdOrderByChangedAtAsc(UUID caseId);
+}
@@ -0,0 +1,57 @@
+package com.camelloncase.pdo.ombudsman.infrastructure;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Partition maintenance for the time-partitioned {@code ombudsman} table (V12).
+ */
+@Repository
+public class OmbudsmanArchiveRepository {
+
+	/**
+	 * Flipping {@code archived} moves the row into the year's archive partition. The version bump
+	 * makes a concurrent entity update fail its optimistic check instead of reopening an archived case.
+	 */
+	private static final String ARCHIVE_CHUNK = """
+			update ombudsman o
+			set archived = true, version = o.version + 1
+			where o.id in (
+			    select c.id from ombudsman c
+			    where c.current_status = 'COMPLETED'
+			      and not c.archived
+			      and c.deleted_at is null
+			      and c.updated_at < ?
+			    order by c.id
+			    limit ?
+			    for update skip locked
+			)
+			  and not o.archived
+			returning o.id
+			""";
+
+	private final JdbcTemplate jdbc;
+
+	public OmbudsmanArchiveRepository(JdbcTemplate jdbc) {
+		this.jdbc = jdbc;
+	}
+
+	/**
+	 * Creates the year's partitions if missing, first moving any of its rows out of the DEFAULT
+	 * partitions (V17).
+	 *
+	 * @return rows moved out of the DEFAULT partitions
+	 */
+	public int ensurePartitions(int year) {
+		Integer moved = jdbc.queryForObject("select pdo_ensure_ombudsman_partitions(?)", Integer.class, year);
+		return moved == null ? 0 : moved;
+	}
+
+	public List<UUID> archiveChunk(OffsetDateTime completedBefore, int limit) {
+		return jdbc.queryForList(ARCHIVE_CHUNK, UUID.class, completedBefore, limit);
+	}
+}
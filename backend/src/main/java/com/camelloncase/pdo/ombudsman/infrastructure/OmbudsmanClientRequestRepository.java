@@ -0,0 +1,117 @@
+package com.camelloncase.pdo.ombudsman.infrastructure;
+
+import com.camelloncase.pdo.ombudsman.domain.Ombudsman;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * {@code ombudsman_client_requests}: the unique {@code client_request_id -> case} map that the
+ * partitioned {@code ombudsman} table cannot enforce itself (V12). Rows are written in the
+ * transaction that creates the case, so a duplicate key rolls the creation back.
+ */
+@Repository
+public class OmbudsmanClientRequestRepository {
+
+	private static final String INSERT =
+			"insert into ombudsman_client_requests (client_request_id, case_id, created_at) values (?, ?, ?)";
+
+	/*
+	 * Keys taken meanwhile (e.g. by a single create) are skipped instead of failing the batch;
+	 * only the keys registered here are returned.
+	 */
+	private static final String INSERT_ALL = """
+			insert into ombudsman_client_requests (client_request_id, case_id, created_at)
+			select r.client_request_id, r.case_id, cast(? as timestamptz)
+			from unnest(cast(? as uuid[]), cast(? as uuid[])) as r(client_request_id, case_id)
+			on conflict (client_request_id) do nothing
+			returning client_request_id
+			""";
+
+	/*
+	 * Not through the entity, whose @SQLRestriction would hide keys of soft-deleted cases.
+	 */
+	private static final String FIND_CASES = """
+			select r.client_request_id, r.case_id, o.protocol_number
+			from ombudsman_client_requests r
+			left join ombudsman o on o.id = r.case_id
+			where r.client_request_id = any(cast(? as uuid[]))
+			""";
+
+	private final JdbcTemplate jdbc;
+
+	public OmbudsmanClientRequestRepository(JdbcTemplate jdbc) {
+		this.jdbc = jdbc;
+	}
+
+	public Optional<UUID> findCaseId(UUID clientRequestId) {
+		return jdbc.queryForList(
+				"select case_id from ombudsman_client_requests where client_request_id = ?",
+				UUID.class,
+				clientRequestId
+		).stream().findFirst();
+	}
+
+	public void register(Ombudsman o) {
+		if (o.getClientRequestId() != null) {
+			jdbc.update(INSERT, o.getClientRequestId(), o.getId(), o.getCreatedAt());
+		}
+	}
+
+	/**
+	 * @return the case each of the given keys already belongs to, soft-deleted ones included
+	 */
+	public Map<UUID, RegisteredCase> findCases(Collection<UUID> clientRequestIds) {
+		Map<UUID, RegisteredCase> cases = new HashMap<>();
+		if (clientRequestIds.isEmpty()) {
+			return cases;
+		}
+		jdbc.query(con -> {
+			PreparedStatement ps = con.prepareStatement(FIND_CASES);
+			ps.setArray(1, con.createArrayOf("uuid", clientRequestIds.toArray()));
+			return ps;
+		}, (RowCallbackHandler) rs -> cases.put(
+				rs.getObject("client_request_id", UUID.class),
+				new RegisteredCase(rs.getObject("case_id", UUID.class), rs.getString("protocol_number"))));
+		return cases;
+	}
+
+	/**
+	 * Registers the keys of {@code cases} in one statement.
+	 *
+	 * @return the keys registered by this call; the others already belonged to another case
+	 */
+	public Set<UUID> registerAll(List<Ombudsman> cases, OffsetDateTime now) {
+		List<Ombudsman> keyed = cases.stream()
+				.filter(o -> o.getClientRequestId() != null)
+				.toList();
+		if (keyed.isEmpty()) {
+			return Set.of();
+		}
+		Object[] keys = keyed.stream().map(Ombudsman::getClientRequestId).toArray();
+		Object[] ids = keyed.stream().map(Ombudsman::getId).toArray();
+		return new HashSet<>(jdbc.query(con -> {
+			PreparedStatement ps = con.prepareStatement(INSERT_ALL);
+			ps.setObject(1, now);
+			ps.setArray(2, con.createArrayOf("uuid", keys));
+			ps.setArray(3, con.createArrayOf("uuid", ids));
+			return ps;
+		}, (rs, rowNum) -> rs.getObject(1, UUID.class)));
+	}
+
+	/**
+	 * @param protocolNumber null when the case no longer exists
+	 */
+	public record RegisteredCase(UUID caseId, String protocolNumber) {}
+}
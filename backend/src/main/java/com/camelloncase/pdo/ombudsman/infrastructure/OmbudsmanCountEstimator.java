@@ -0,0 +1,57 @@
+package com.camelloncase.pdo.ombudsman.infrastructure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Row count estimates taken from planner statistics instead of a count(*).
+ */
+@Component
+public class OmbudsmanCountEstimator {
+
+	private final JdbcTemplate jdbc;
+	private final ObjectMapper objectMapper;
+
+	public OmbudsmanCountEstimator(JdbcTemplate jdbc, ObjectMapper objectMapper) {
+		this.jdbc = jdbc;
+		this.objectMapper = objectMapper;
+	}
+
+	public long estimate(OmbudsmanSearchCriteria criteria) {
+		if (criteria.isEmpty()) {
+			return estimateTable();
+		}
+
+		OmbudsmanSqlFilter filter = OmbudsmanSqlFilter.of(criteria);
+		return estimatePlan("select 1 from ombudsman o" + filter.where(), filter.args());
+	}
+
+	/**
+	 * Partitioned parents keep no statistics of their own, so the leaves are summed.
+	 */
+	private long estimateTable() {
+		Long rows = jdbc.queryForObject("""
+				select coalesce(sum(greatest(c.reltuples, 0)), 0)::bigint
+				from pg_partition_tree('ombudsman') t
+				join pg_class c on c.oid = t.relid
+				where t.isleaf
+				""", Long.class);
+		return rows == null ? 0 : Math.max(rows, 0);
+	}
+
+	private long estimatePlan(String sql, Object[] args) {
+		String plan = jdbc.queryForObject("explain (format json) " + sql, String.class, args);
+		if (plan == null) {
+			return 0;
+		}
+		try {
+			JsonNode root = objectMapper.readTree(plan);
+			return Math.max(root.path(0).path("Plan").path("Plan Rows").asLong(), 0);
+		} catch (JsonProcessingException e) {
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package com.camelloncase.pdo.ombudsman.infrastructure;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Single-statement deletes. Status history, attachment URLs and the client request key are
+ * removed in the same statement because they only hold soft FKs to the partitioned
+ * {@code ombudsman} table.
+ */
+@Repository
+public class OmbudsmanDeletionRepository {
+
+	private static final String HARD_DELETE = """
+			with removed as (
+			    delete from ombudsman o
+			    where o.id in (%s)
+			    returning o.id
+			), history as (
+			    delete from case_status_history_entries h
+			    using removed r
+			    where h.case_id = r.id
+			), attachments as (
+			    delete from ombudsman_attachment_urls a
+			    using removed r
+			    where a.ombudsman_id = r.id
+			), client_requests as (
+			    delete from ombudsman_client_requests c
+			    using removed r
+			    where c.case_id = r.id
+			)
+			select id from removed
+			""";
+
+	private static final String SOFT_DELETE = """
+			update ombudsman o
+			set deleted_at = ?, updated_at = ?, version = o.version + 1
+			where o.id in (%s)
+			  and o.deleted_at is null
+			returning o.id
+			""";
+
+	private final JdbcTemplate jdbc;
+
+	public OmbudsmanDeletionRepository(JdbcTemplate jdbc) {
+		this.jdbc = jdbc;
+	}
+
+	public boolean hardDelete(UUID id) {
+		return !jdbc.queryForList(HARD_DELETE.formatted("?"), UUID.class, id).isEmpty();
+	}
+
+	public boolean softDelete(UUID id, OffsetDateTime now) {
+		return !jdbc.queryForList(SOFT_DELETE.formatted("?"), UUID.class, now, now, id).isEmpty();
+	}
+
+	/**
+	 * Deletes (or marks) at most {@code limit} matching rows, skipping rows locked by others,
+	 * and returns their ids. Callers loop, one short transaction per chunk.
+	 */
+	public List<UUID> purgeChunk(OmbudsmanSearchCriteria criteria, boolean hard, OffsetDateTime now, int limit) {
+		OmbudsmanSqlFilter filter = OmbudsmanSqlFilter.of(criteria, hard);
+		String chunk = "select o.id from ombudsman o" + filter.where()
+				+ " order by o.id limit " + limit + " for update skip locked";
+
+		List<Object> args = new ArrayList<>();
+		String sql;
+		if (hard) {
+			sql = HARD_DELETE.formatted(chunk);
+		} else {
+			sql = SOFT_DELETE.formatted(chunk);
+			args.add(now);
+			args.add(now);
+		}
+		args.addAll(Arrays.asList(filter.args()));
+		return jdbc.queryForList(sql, UUID.class, args.toArray());
+	}
+}
@@ -0,0 +1,60 @@
+package com.camelloncase.pdo.ombudsman.infrastructure;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Streams export rows through a server-side cursor. Postgres only honours the fetch size
+ * inside a transaction, so callers must hold one (read-only is enough).
+ */
+@Repository
+public class OmbudsmanExportRepository {
+
+	public static final int FETCH_SIZE = 500;
+
+	private static final String SELECT = """
+			select o.id, o.protocol_number, o.category, o.urgency, o.current_status, o.anonymous,
+			       o.destination_agency_id, o.description, o.longitude, o.latitude, o.approx_address,
+			       o.created_at, o.updated_at
+			from ombudsman o""";
+
+	private final JdbcTemplate jdbc;
+
+	public OmbudsmanExportRepository(DataSource dataSource) {
+		this.jdbc = new JdbcTemplate(dataSource);
+		this.jdbc.setFetchSize(FETCH_SIZE);
+	}
+
+	public void forEach(OmbudsmanSearchCriteria criteria, Consumer<OmbudsmanExportRow> consumer) {
+		OmbudsmanSqlFilter filter = OmbudsmanSqlFilter.of(criteria);
+		String sql = SELECT + filter.where() + " order by o.created_at, o.id";
+
+		jdbc.query(sql, (RowCallbackHandler) rs -> consumer.accept(toRow(rs)), filter.args());
+	}
+
+	private OmbudsmanExportRow toRow(ResultSet rs) throws SQLException {
+		return new OmbudsmanExportRow(
+				rs.getObject("id", UUID.class),
+				rs.getString("protocol_number"),
+				rs.getString("category"),
+				rs.getString("urgency"),
+				rs.getString("current_status"),
+				rs.getObject("anonymous", Boolean.class),
+				rs.getObject("destination_agency_id", UUID.class),
+				rs.getString("description"),
+				rs.getBigDecimal("longitude"),
+				rs.getBigDecimal("latitude"),
+				rs.getString("approx_address"),
+				rs.getObject("created_at", OffsetDateTime.class),
+				rs.getObject("updated_at", OffsetDateTime.class)
+		);
+	}
+}
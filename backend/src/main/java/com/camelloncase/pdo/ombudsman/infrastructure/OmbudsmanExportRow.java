@@ -0,0 +1,21 @@
+package com.camelloncase.pdo.ombudsman.infrastructure;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record OmbudsmanExportRow(
+		UUID id,
+		String protocolNumber,
+		String category,
+		String urgency,
+		String currentStatus,
+		Boolean anonymous,
+		UUID destinationAgencyId,
+		String description,
+		BigDecimal longitude,
+		BigDecimal latitude,
+		String approxAddress,
+		OffsetDateTime createdAt,
+		OffsetDateTime updatedAt
+) {}
@@ -0,0 +1,82 @@
+package com.camelloncase.pdo.ombudsman.infrastructure;
+
+import com.camelloncase.pdo.ombudsman.domain.enums.CaseCategory;
+import com.camelloncase.pdo.ombudsman.domain.enums.CaseStatus;
+import com.camelloncase.pdo.ombudsman.domain.enums.UrgencyLevel;
+
+import java.util.List;
+import java.util.UUID;
+
+public record OmbudsmanSearchCriteria(
+		UUID reporterIdentityId,
+		String protocolNumber,
+		String text,
+		List<CaseCategory> categories,
+		List<UrgencyLevel> urgencies,
+		List<CaseStatus> statuses,
+		Area area,
+		Radius near
+) {
+	/**
+	 * Mean Earth radius in metres, as used by haversine / equirectangular approximations.
+	 */
+	static final double EARTH_RADIUS_METERS = 6_371_008.8;
+	static final double METERS_PER_DEGREE = EARTH_RADIUS_METERS * Math.PI / 180;
+
+	public OmbudsmanSearchCriteria {
+		categories = categories == null ? List.of() : List.copyOf(categories);
+		urgencies = urgencies == null ? List.of() : List.copyOf(urgencies);
+		statuses = statuses == null ? List.of() : List.copyOf(statuses);
+	}
+
+	public boolean isEmpty() {
+		return reporterIdentityId == null
+				&& protocolNumber == null
+				&& text == null
+				&& categories.isEmpty()
+				&& urgencies.isEmpty()
+				&& statuses.isEmpty()
+				&& area == null
+				&& near == null;
+	}
+
+	/**
+	 * True when a status filter rules out COMPLETED, so the archive partitions
+	 * (which only hold COMPLETED cases) can be pruned.
+	 */
+	public boolean excludesArchive() {
+		return !statuses.isEmpty() && !statuses.contains(CaseStatus.COMPLETED);
+	}
+
+	/**
+	 * Map viewport in degrees; must not cross the antimeridian.
+	 */
+	public record Area(double minLongitude, double minLatitude, double maxLongitude, double maxLatitude) {}
+
+	/**
+	 * Circle around a point. {@link #bounds()} is the box handed to the spatial index and
+	 * {@link #longitudeScale()} squeezes longitude degrees so the exact check is a plain
+	 * (equirectangular) distance, accurate to well under a metre at city scale.
+	 */
+	public record Radius(double longitude, double latitude, double meters) {
+
+		public Area bounds() {
+			double latDelta = degrees();
+			double lonDelta = latDelta / longitudeScale();
+			return new Area(
+					Math.max(-180, longitude - lonDelta),
+					Math.max(-90, latitude - latDelta),
+					Math.min(180, longitude + lonDelta),
+					Math.min(90, latitude + latDelta)
+			);
+		}
+
+		double degrees() {
+			return meters / METERS_PER_DEGREE;
+		}
+
+		double longitudeScale() {
+			return Math.max(Math.cos(Math.toRadians(latitude)), 1e-6);
+		}
+	}
+}
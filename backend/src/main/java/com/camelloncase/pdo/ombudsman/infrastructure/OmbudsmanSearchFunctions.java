@@ -0,0 +1,45 @@
+package com.camelloncase.pdo.ombudsman.infrastructure;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Full-text search functions over the generated {@code ombudsman.description_tsv} column, plus the
+ * bounding-box test behind the location GiST index. Registered through META-INF/services so Criteria
+ * queries can reach the {@code @@} and {@code <@} operators.
+ */
+public class OmbudsmanSearchFunctions implements FunctionContributor {
+
+	public static final String TEXT_SEARCH_CONFIG = "pdo_portuguese";
+	public static final String MATCHES = "pdo_fts_matches";
+	public static final String RANK = "pdo_fts_rank";
+	public static final String WITHIN_BOX = "pdo_geo_within_box";
+
+	/**
+	 * Must stay textually identical to the expression of {@code idx_ombudsman_location_gist}.
+	 */
+	static final String LOCATION_POINT_SQL = "point(cast(?1 as double precision), cast(?2 as double precision))";
+
+	@Override
+	public void contributeFunctions(FunctionContributions functionContributions) {
+		BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+		functionContributions.getFunctionRegistry().registerPattern(
+				MATCHES,
+				"(?1 @@ plainto_tsquery('" + TEXT_SEARCH_CONFIG + "', ?2))",
+				types.resolve(StandardBasicTypes.BOOLEAN)
+		);
+		functionContributions.getFunctionRegistry().registerPattern(
+				RANK,
+				"ts_rank(?1, plainto_tsquery('" + TEXT_SEARCH_CONFIG + "', ?2))",
+				types.resolve(StandardBasicTypes.DOUBLE)
+		);
+		functionContributions.getFunctionRegistry().registerPattern(
+				WITHIN_BOX,
+				"(" + LOCATION_POINT_SQL + " <@ box(point(?3, ?4), point(?5, ?6)))",
+				types.resolve(StandardBasicTypes.BOOLEAN)
+		);
+	}
+}
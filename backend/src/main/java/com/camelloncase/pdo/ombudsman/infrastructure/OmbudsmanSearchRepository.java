@@ -0,0 +1,19 @@
+package com.camelloncase.pdo.ombudsman.infrastructure;
+
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanSummaryResponse;
+import com.camelloncase.pdo.ombudsman.domain.Ombudsman;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface OmbudsmanSearchRepository {
+
+	Slice<Ombudsman> findSlice(Specification<Ombudsman> spec, Pageable pageable);
+
+	List<Ombudsman> findFirst(Specification<Ombudsman> spec, Sort sort, int limit);
+
+	Slice<OmbudsmanSummaryResponse> findSummarySlice(Specification<Ombudsman> spec, Pageable pageable);
+}
@@ -0,0 +1,98 @@
+package com.camelloncase.pdo.ombudsman.infrastructure;
+
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanSummaryResponse;
+import com.camelloncase.pdo.ombudsman.domain.Ombudsman;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+/**
+ * Specification queries that never issue the count(*) that {@code findAll(spec, pageable)} does.
+ */
+public class OmbudsmanSearchRepositoryImpl implements OmbudsmanSearchRepository {
+
+	private final EntityManager em;
+
+	public OmbudsmanSearchRepositoryImpl(EntityManager em) {
+		this.em = em;
+	}
+
+	@Override
+	public Slice<Ombudsman> findSlice(Specification<Ombudsman> spec, Pageable pageable) {
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Ombudsman> query = cb.createQuery(Ombudsman.class);
+		Root<Ombudsman> root = query.from(Ombudsman.class);
+		restrict(query, root, cb, spec, pageable.getSort());
+
+		return slice(em.createQuery(query), pageable);
+	}
+
+	@Override
+	public List<Ombudsman> findFirst(Specification<Ombudsman> spec, Sort sort, int limit) {
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Ombudsman> query = cb.createQuery(Ombudsman.class);
+		Root<Ombudsman> root = query.from(Ombudsman.class);
+		restrict(query, root, cb, spec, sort);
+
+		return em.createQuery(query)
+				.setMaxResults(limit)
+				.getResultList();
+	}
+
+	/**
+	 * Selects only the list columns into a DTO: no entity hydration, no dirty-checking
+	 * snapshot and none of the large text columns or element collections.
+	 */
+	@Override
+	public Slice<OmbudsmanSummaryResponse> findSummarySlice(Specification<Ombudsman> spec, Pageable pageable) {
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<OmbudsmanSummaryResponse> query = cb.createQuery(OmbudsmanSummaryResponse.class);
+		Root<Ombudsman> root = query.from(Ombudsman.class);
+		query.select(cb.construct(
+				OmbudsmanSummaryResponse.class,
+				root.get("id"),
+				root.get("protocolNumber"),
+				root.get("category"),
+				root.get("urgency"),
+				root.get("currentStatus"),
+				root.get("destinationAgencyId"),
+				root.get("createdAt")
+		));
+		restrict(query, root, cb, spec, pageable.getSort());
+
+		return slice(em.createQuery(query), pageable);
+	}
+
+	private void restrict(CriteriaQuery<?> query, Root<Ombudsman> root, CriteriaBuilder cb, Specification<Ombudsman> spec, Sort sort) {
+		Predicate predicate = spec.toPredicate(root, query, cb);
+		if (predicate != null) {
+			query.where(predicate);
+		}
+		if (sort.isSorted()) {
+			query.orderBy(QueryUtils.toOrders(sort, root, cb));
+		}
+	}
+
+	private <T> Slice<T> slice(TypedQuery<T> query, Pageable pageable) {
+		int size = pageable.getPageSize();
+
+		List<T> rows = query
+				.setFirstResult(Math.toIntExact(pageable.getOffset()))
+				.setMaxResults(size + 1)
+				.getResultList();
+
+		boolean hasNext = rows.size() > size;
+		return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+	}
+}
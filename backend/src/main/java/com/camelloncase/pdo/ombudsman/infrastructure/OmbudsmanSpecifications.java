@@ -0,0 +1,154 @@
+package com.camelloncase.pdo.ombudsman.infrastructure;
+
+import com.camelloncase.pdo.ombudsman.domain.Ombudsman;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Dynamic search predicates. Only the filters actually supplied become part of
+ * the SQL, so the planner always sees plain equality / IN conditions it can
+ * match against the btree indexes on ombudsman.
+ */
+public final class OmbudsmanSpecifications {
+
+	public static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+	private static final char LIKE_ESCAPE = '\\';
+
+	private OmbudsmanSpecifications() {}
+
+	public static Specification<Ombudsman> matching(OmbudsmanSearchCriteria criteria) {
+		return (root, query, cb) -> {
+			List<Predicate> predicates = new ArrayList<>();
+
+			if (criteria.reporterIdentityId() != null) {
+				predicates.add(cb.equal(root.get("reporterIdentityId"), criteria.reporterIdentityId()));
+			}
+			if (criteria.protocolNumber() != null) {
+				predicates.add(cb.like(
+						cb.lower(root.<String>get("protocolNumber")),
+						containsPattern(criteria.protocolNumber()),
+						LIKE_ESCAPE
+				));
+			}
+			if (criteria.text() != null) {
+				predicates.add(cb.isTrue(cb.function(
+						OmbudsmanSearchFunctions.MATCHES,
+						Boolean.class,
+						root.get("descriptionTsv"),
+						bind(cb, criteria.text())
+				)));
+			}
+			if (!criteria.categories().isEmpty()) {
+				predicates.add(root.get("category").in(criteria.categories()));
+			}
+			if (!criteria.urgencies().isEmpty()) {
+				predicates.add(root.get("urgency").in(criteria.urgencies()));
+			}
+			if (!criteria.statuses().isEmpty()) {
+				predicates.add(root.get("currentStatus").in(criteria.statuses()));
+				if (criteria.excludesArchive()) {
+					predicates.add(cb.isFalse(root.get("archived")));
+				}
+			}
+			if (criteria.area() != null) {
+				predicates.add(within(root, cb, criteria.area()));
+			}
+			if (criteria.near() != null) {
+				predicates.add(within(root, cb, criteria.near().bounds()));
+				predicates.add(closeTo(root, cb, criteria.near()));
+			}
+
+			return cb.and(predicates.toArray(Predicate[]::new));
+		};
+	}
+
+	/**
+	 * Orders full-text matches by {@code ts_rank} over the stored tsvector, newest first on ties.
+	 * Contributes no predicate and leaves count queries unordered.
+	 */
+	public static Specification<Ombudsman> rankedBy(String text) {
+		return (root, query, cb) -> {
+			if (!Long.class.equals(query.getResultType())) {
+				Expression<Double> rank = cb.function(
+						OmbudsmanSearchFunctions.RANK,
+						Double.class,
+						root.get("descriptionTsv"),
+						bind(cb, text)
+				);
+				query.orderBy(cb.desc(rank), cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+			}
+			return null;
+		};
+	}
+
+	/**
+	 * Seek predicate for {@link #NEWEST_FIRST}. The leading {@code created_at <= :c}
+	 * bounds the index range; the disjunction only filters rows sharing the cursor timestamp.
+	 */
+	public static Specification<Ombudsman> after(OffsetDateTime createdAt, UUID id) {
+		return (root, query, cb) -> {
+			Path<OffsetDateTime> created = root.get("createdAt");
+			Path<UUID> key = root.get("id");
+			return cb.and(
+					cb.lessThanOrEqualTo(created, createdAt),
+					cb.or(cb.lessThan(created, createdAt), cb.lessThan(key, id))
+			);
+		};
+	}
+
+	private static Predicate within(Root<Ombudsman> root, CriteriaBuilder cb, OmbudsmanSearchCriteria.Area area) {
+		return cb.isTrue(cb.function(
+				OmbudsmanSearchFunctions.WITHIN_BOX,
+				Boolean.class,
+				root.get("location").get("longitude"),
+				root.get("location").get("latitude"),
+				bind(cb, area.minLongitude()),
+				bind(cb, area.minLatitude()),
+				bind(cb, area.maxLongitude()),
+				bind(cb, area.maxLatitude())
+		));
+	}
+
+	/**
+	 * Exact radius check on the rows the bounding box let through.
+	 */
+	private static Predicate closeTo(Root<Ombudsman> root, CriteriaBuilder cb, OmbudsmanSearchCriteria.Radius near) {
+		Expression<BigDecimal> dx = cb.prod(
+				cb.diff(root.get("location").<BigDecimal>get("longitude"), BigDecimal.valueOf(near.longitude())),
+				BigDecimal.valueOf(near.longitudeScale()));
+		Expression<BigDecimal> dy = cb.diff(
+				root.get("location").<BigDecimal>get("latitude"), BigDecimal.valueOf(near.latitude()));
+		double limit = near.degrees();
+		return cb.le(cb.sum(cb.prod(dx, dx), cb.prod(dy, dy)), BigDecimal.valueOf(limit * limit));
+	}
+
+	/**
+	 * A bound parameter rather than {@code cb.literal}, which Hibernate inlines into the SQL and
+	 * so turns every search into a distinct statement for the plan and query caches.
+	 */
+	private static <T> Expression<T> bind(CriteriaBuilder cb, T value) {
+		return ((HibernateCriteriaBuilder) cb).value(value);
+	}
+
+	static String containsPattern(String value) {
+		String escaped = value.toLowerCase(Locale.ROOT)
+				.replace("\\", "\\\\")
+				.replace("%", "\\%")
+				.replace("_", "\\_");
+		return "%" + escaped + "%";
+	}
+}
@@ -0,0 +1,91 @@
+package com.camelloncase.pdo.ombudsman.infrastructure;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Plain SQL rendering of {@link OmbudsmanSearchCriteria} over {@code ombudsman o}, for the
+ * JDBC paths that sit next to the Specification queries. Soft-deleted rows are excluded
+ * unless asked for, mirroring the entity's {@code @SQLRestriction}.
+ */
+final class OmbudsmanSqlFilter {
+
+	private final String where;
+	private final Object[] args;
+
+	private OmbudsmanSqlFilter(String where, Object[] args) {
+		this.where = where;
+		this.args = args;
+	}
+
+	static OmbudsmanSqlFilter of(OmbudsmanSearchCriteria criteria) {
+		return of(criteria, false);
+	}
+
+	static OmbudsmanSqlFilter of(OmbudsmanSearchCriteria criteria, boolean includeDeleted) {
+		StringBuilder where = new StringBuilder(includeDeleted ? " where true" : " where o.deleted_at is null");
+		List<Object> args = new ArrayList<>();
+
+		if (criteria.reporterIdentityId() != null) {
+			where.append(" and o.reporter_identity_id = ?");
+			args.add(criteria.reporterIdentityId());
+		}
+		if (criteria.protocolNumber() != null) {
+			where.append(" and lower(o.protocol_number) like ?");
+			args.add(OmbudsmanSpecifications.containsPattern(criteria.protocolNumber()));
+		}
+		if (criteria.text() != null) {
+			where.append(" and o.description_tsv @@ plainto_tsquery('")
+					.append(OmbudsmanSearchFunctions.TEXT_SEARCH_CONFIG)
+					.append("', ?)");
+			args.add(criteria.text());
+		}
+		appendIn(where, args, "o.category", criteria.categories());
+		appendIn(where, args, "o.urgency", criteria.urgencies());
+		appendIn(where, args, "o.current_status", criteria.statuses());
+		if (criteria.excludesArchive()) {
+			where.append(" and not o.archived");
+		}
+		if (criteria.area() != null) {
+			appendWithin(where, args, criteria.area());
+		}
+		if (criteria.near() != null) {
+			OmbudsmanSearchCriteria.Radius near = criteria.near();
+			appendWithin(where, args, near.bounds());
+			where.append(" and ((o.longitude - ?) * ?) ^ 2 + (o.latitude - ?) ^ 2 <= ?");
+			args.add(near.longitude());
+			args.add(near.longitudeScale());
+			args.add(near.latitude());
+			args.add(near.degrees() * near.degrees());
+		}
+
+		return new OmbudsmanSqlFilter(where.toString(), args.toArray());
+	}
+
+	String where() {
+		return where;
+	}
+
+	Object[] args() {
+		return args;
+	}
+
+	private static void appendWithin(StringBuilder where, List<Object> args, OmbudsmanSearchCriteria.Area area) {
+		where.append(" and point(o.longitude::float8, o.latitude::float8) <@ box(point(?, ?), point(?, ?))");
+		args.add(area.minLongitude());
+		args.add(area.minLatitude());
+		args.add(area.maxLongitude());
+		args.add(area.maxLatitude());
+	}
+
+	private static void appendIn(StringBuilder where, List<Object> args, String column, List<? extends Enum<?>> values) {
+		if (values.isEmpty()) {
+			return;
+		}
+		where.append(" and ").append(column).append(" in (")
+				.append(String.join(", ", Collections.nCopies(values.size(), "?")))
+				.append(")");
+		values.forEach(v -> args.add(v.name()));
+	}
+}
@@ -0,0 +1,86 @@
+package com.camelloncase.pdo.ombudsman.infrastructure;
+
+import com.camelloncase.pdo.ombudsman.domain.enums.CaseStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based status transitions, bypassing entity loading.
+ */
+@Repository
+public class OmbudsmanStatusRepository {
+
+	/*
+	 * Locks the eligible rows in id order (so concurrent bulk moves cannot deadlock), moves them
+	 * and appends one history row each, all in one statement. Rows not in an allowed source
+	 * status, or forwarded without any destination agency, are neither updated nor logged.
+	 */
+	private static final String TRANSITION_SQL = """
+			with eligible as (
+			    select o.id
+			    from ombudsman o
+			    where o.id in (:ids)
+			      and o.deleted_at is null
+			      and o.current_status in (:allowedFrom)
+			      and (:target <> 'FORWARDED' or coalesce(cast(:agencyId as uuid), o.destination_agency_id) is not null)
+			    order by o.id
+			    for update
+			), moved as (
+			    update ombudsman o
+			    set current_status = :target,
+			        destination_agency_id = coalesce(cast(:agencyId as uuid), o.destination_agency_id),
+			        updated_at = cast(:now as timestamptz),
+			        version = o.version + 1
+			    from eligible e
+			    where o.id = e.id
+			    returning o.id
+			)
+			insert into case_status_history_entries
+			    (case_id, status, changed_at, note, changed_by_user_id, created_at, updated_at)
+			select m.id, :target, cast(:now as timestamptz), cast(:note as varchar), cast(:changedBy as uuid),
+			       cast(:now as timestamptz), cast(:now as timestamptz)
+			from moved m
+			returning case_id
+			""";
+
+	private final NamedParameterJdbcTemplate jdbc;
+
+	public OmbudsmanStatusRepository(NamedParameterJdbcTemplate jdbc) {
+		this.jdbc = jdbc;
+	}
+
+	/**
+	 * @return the ids that were moved to {@code target}
+	 */
+	public List<UUID> transition(
+			Collection<UUID> ids,
+			CaseStatus target,
+			UUID agencyId,
+			String note,
+			UUID changedBy,
+			OffsetDateTime now
+	) {
+		Collection<CaseStatus> allowedFrom = target.allowedFrom();
+		if (ids.isEmpty() || allowedFrom.isEmpty()) {
+			return List.of();
+		}
+
+		MapSqlParameterSource params = new MapSqlParameterSource()
+				.addValue("ids", ids)
+				.addValue("allowedFrom", allowedFrom.stream().map(Enum::name).toList())
+				.addValue("target", target.name())
+				.addValue("agencyId", agencyId, Types.OTHER)
+				.addValue("note", note)
+				.addValue("changedBy", changedBy, Types.OTHER)
+				.addValue("now", now);
+
+		return jdbc.queryForList(TRANSITION_SQL, params, UUID.class);
+	}
+}
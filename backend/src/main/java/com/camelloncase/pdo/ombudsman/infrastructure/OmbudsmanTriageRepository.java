@@ -0,0 +1,76 @@
+package com.camelloncase.pdo.ombudsman.infrastructure;
+
+import com.camelloncase.pdo.ombudsman.domain.IzaTriageResult;
+import com.camelloncase.pdo.ombudsman.domain.enums.CaseCategory;
+import com.camelloncase.pdo.ombudsman.infrastructure.iza.IzaTriageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class OmbudsmanTriageRepository {
+
+	/*
+	 * Only fills a triage nobody has set yet, so a late IZA answer never overwrites one the
+	 * client sent or an operator edited.
+	 */
+	private static final String APPLY_TRIAGE = """
+			update ombudsman o
+			set iza_suggested_category = ?,
+			    iza_suggested_agency_id = ?,
+			    iza_confidence = ?,
+			    iza_rationale = ?,
+			    updated_at = ?,
+			    version = o.version + 1
+			where o.id = ?
+			  and o.deleted_at is null
+			  and o.iza_suggested_category is null
+			  and o.iza_suggested_agency_id is null
+			""";
+
+	/*
+	 * Bounded by created_at so only the recent partitions are scanned.
+	 */
+	private static final String FIND_UNTRIAGED = """
+			select o.id, o.category, o.description
+			from ombudsman o
+			where o.created_at >= ? and o.created_at < ?
+			  and not o.archived
+			  and o.deleted_at is null
+			  and o.iza_suggested_category is null
+			  and o.iza_suggested_agency_id is null
+			order by o.created_at
+			limit ?
+			""";
+
+	private final JdbcTemplate jdbc;
+
+	public OmbudsmanTriageRepository(JdbcTemplate jdbc) {
+		this.jdbc = jdbc;
+	}
+
+	public List<Untriaged> findUntriaged(OffsetDateTime createdFrom, OffsetDateTime createdBefore, int limit) {
+		return jdbc.query(FIND_UNTRIAGED,
+				(rs, rowNum) -> new Untriaged(
+						rs.getObject("id", UUID.class),
+						new IzaTriageRequest(CaseCategory.valueOf(rs.getString("category")), rs.getString("description"))),
+				createdFrom, createdBefore, limit);
+	}
+
+	public boolean applyTriage(UUID id, IzaTriageResult result, OffsetDateTime now) {
+		return jdbc.update(
+				APPLY_TRIAGE,
+				result.getSuggestedCategory() == null ? null : result.getSuggestedCategory().name(),
+				result.getSuggestedAgencyId(),
+				result.getConfidence(),
+				result.getRationale(),
+				now,
+				id
+		) > 0;
+	}
+
+	public record Untriaged(UUID id, IzaTriageRequest request) {}
+}
@@ -0,0 +1,51 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.forwarding;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Local stand-in for the agencies: appends each batch to {@code <directory>/<agency-id>.ndjson},
+ * one {@code {"idempotencyKey":..., "payload":...}} line per case.
+ */
+@Component
+@ConditionalOnProperty(prefix = "forwarding", name = "mode", havingValue = "file", matchIfMissing = true)
+class FileForwardingClient implements ForwardingClient {
+
+	private final Path directory;
+
+	FileForwardingClient(ForwardingProperties properties) {
+		this.directory = properties.getDirectory();
+	}
+
+	@Override
+	public void deliver(UUID destinationAgencyId, List<ForwardingMessage> messages) {
+		Path file = directory.resolve(destinationAgencyId + ".ndjson");
+		try {
+			Files.createDirectories(directory);
+			synchronized (this) {
+				try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+						StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+					for (ForwardingMessage message : messages) {
+						out.write("{\"idempotencyKey\":\"");
+						out.write(message.idempotencyKey());
+						out.write("\",\"payload\":");
+						out.write(message.payload());
+						out.write("}\n");
+					}
+				}
+			}
+		} catch (IOException | UncheckedIOException e) {
+			throw new ForwardingException("could not write " + file, e);
+		}
+	}
+}
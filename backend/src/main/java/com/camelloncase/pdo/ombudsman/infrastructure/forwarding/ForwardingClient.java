@@ -0,0 +1,18 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.forwarding;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Delivers forwarded cases to a destination agency. Delivery is at least once: a batch may be
+ * sent again after a crash or an ambiguous failure, identified by {@link ForwardingMessage#idempotencyKey()}.
+ */
+public interface ForwardingClient {
+
+	/**
+	 * Delivers the whole batch or throws; a partially accepted batch is retried as a whole.
+	 *
+	 * @throws ForwardingException when the agency did not confirm the batch
+	 */
+	void deliver(UUID destinationAgencyId, List<ForwardingMessage> messages);
+}
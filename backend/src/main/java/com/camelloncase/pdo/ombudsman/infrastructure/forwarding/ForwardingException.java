@@ -0,0 +1,8 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.forwarding;
+
+public class ForwardingException extends RuntimeException {
+
+	public ForwardingException(String message, Throwable cause) {
+		super(message, cause, false, false);
+	}
+}
@@ -0,0 +1,24 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.forwarding;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * One claimed outbox row. {@code payload} is the JSON snapshot the agency receives.
+ */
+public record ForwardingMessage(
+		long outboxId,
+		UUID caseId,
+		String protocolNumber,
+		UUID destinationAgencyId,
+		String payload,
+		int attempts,
+		OffsetDateTime createdAt
+) {
+	/**
+	 * Stable across redeliveries, so the receiving side can drop duplicates (ADR 0007).
+	 */
+	public String idempotencyKey() {
+		return protocolNumber + ":" + destinationAgencyId;
+	}
+}
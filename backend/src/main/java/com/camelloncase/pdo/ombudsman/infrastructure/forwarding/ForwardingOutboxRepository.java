@@ -0,0 +1,201 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.forwarding;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@code forwarding_outbox} (V13).
+ */
+@Repository
+public class ForwardingOutboxRepository {
+
+	/*
+	 * Snapshots what the agency receives. A case already queued for the same destination is
+	 * left alone, which makes re-forwarding idempotent per protocol + destination.
+	 */
+	private static final String ENQUEUE = """
+			insert into forwarding_outbox (case_id, protocol_number, destination_agency_id, payload, next_attempt_at, created_at)
+			select o.id, o.protocol_number, o.destination_agency_id,
+			       jsonb_build_object(
+			           'caseId', o.id,
+			           'protocolNumber', o.protocol_number,
+			           'category', o.category,
+			           'urgency', o.urgency,
+			           'description', o.description,
+			           'longitude', o.longitude,
+			           'latitude', o.latitude,
+			           'approxAddress', o.approx_address,
+			           'attachmentUrls', coalesce(
+			               (select jsonb_agg(a.attachment_url order by a.stage)
+			                from ombudsman_attachment_urls a
+			                where a.ombudsman_id = o.id),
+			               '[]'::jsonb),
+			           'forwardedAt', cast(:now as timestamptz)
+			       ),
+			       cast(:now as timestamptz), cast(:now as timestamptz)
+			from ombudsman o
+			where o.id in (:ids)
+			  and o.destination_agency_id is not null
+			  and o.deleted_at is null
+			on conflict (protocol_number, destination_agency_id) do nothing
+			""";
+
+	/*
+	 * Claiming pushes next_attempt_at past the lease instead of holding row locks during
+	 * delivery; a dispatcher that dies mid-delivery simply lets the lease run out. A row
+	 * whose lease ran out on its last attempt is marked FAILED here instead of being claimed
+	 * again, since no RESCHEDULE ever saw that attempt.
+	 */
+	private static final String CLAIM = """
+			with due as (
+			    select d.id
+			    from forwarding_outbox d
+			    where d.status = 'PENDING'
+			      and d.next_attempt_at <= cast(:now as timestamptz)
+			    order by d.next_attempt_at, d.id
+			    limit :limit
+			    for update skip locked
+			), claimed as (
+			    update forwarding_outbox f
+			    set status = case when f.attempts >= :maxAttempts then 'FAILED' else f.status end,
+			        next_attempt_at = case when f.attempts >= :maxAttempts then f.next_attempt_at
+			                               else cast(:leaseUntil as timestamptz) end,
+			        attempts = case when f.attempts >= :maxAttempts then f.attempts else f.attempts + 1 end,
+			        last_error = case when f.attempts >= :maxAttempts
+			                          then coalesce(f.last_error, 'Lease expired on the last attempt')
+			                          else f.last_error end
+			    from due
+			    where f.id = due.id
+			    returning f.id, f.case_id, f.protocol_number, f.destination_agency_id, f.payload::text as payload,
+			              f.attempts, f.created_at, f.status
+			)
+			select * from claimed
+			""";
+
+	private static final String MARK_DELIVERED = """
+			update forwarding_outbox
+			set status = 'DELIVERED', delivered_at = cast(:now as timestamptz), last_error = null
+			where id in (:ids)
+			""";
+
+	/*
+	 * Exponential backoff with jitter in [50%, 100%] of min(max, initial * 2^(attempts-1)).
+	 */
+	private static final String RESCHEDULE = """
+			update forwarding_outbox f
+			set status = case when f.attempts >= :maxAttempts then 'FAILED' else 'PENDING' end,
+			    next_attempt_at = cast(:now as timestamptz)
+			        + least(:maxBackoff, :initialBackoff * power(2, f.attempts - 1)) * (0.5 + random() / 2)
+			          * interval '1 millisecond',
+			    last_error = :error
+			where f.id in (:ids)
+			returning f.status
+			""";
+
+	private static final String BACKLOG = """
+			select count(*) as pending,
+			       coalesce(extract(epoch from cast(:now as timestamptz) - min(created_at)), 0) as lag_seconds
+			from forwarding_outbox
+			where status = 'PENDING'
+			""";
+
+	private static final RowMapper<ForwardingMessage> MESSAGE = (rs, i) -> new ForwardingMessage(
+			rs.getLong("id"),
+			rs.getObject("case_id", UUID.class),
+			rs.getString("protocol_number"),
+			rs.getObject("destination_agency_id", UUID.class),
+			rs.getString("payload"),
+			rs.getInt("attempts"),
+			rs.getObject("created_at", OffsetDateTime.class)
+	);
+
+	private static final int MAX_ERROR_LENGTH = 1000;
+
+	private final NamedParameterJdbcTemplate jdbc;
+
+	public ForwardingOutboxRepository(NamedParameterJdbcTemplate jdbc) {
+		this.jdbc = jdbc;
+	}
+
+	/**
+	 * Queues the given cases for their current destination agency; must run in the transaction
+	 * that forwarded them, after their status change is flushed.
+	 */
+	public int enqueue(Collection<UUID> caseIds, OffsetDateTime now) {
+		if (caseIds.isEmpty()) {
+			return 0;
+		}
+		return jdbc.update(ENQUEUE, new MapSqlParameterSource()
+				.addValue("ids", caseIds)
+				.addValue("now", now));
+	}
+
+	/**
+	 * Claims up to {@code limit} due rows; rows that already used {@code maxAttempts} are marked
+	 * FAILED instead and only counted.
+	 */
+	public Claimed claim(int limit, int maxAttempts, Duration lease, OffsetDateTime now) {
+		List<ForwardingMessage> messages = new ArrayList<>();
+		int[] failed = {0};
+		jdbc.query(CLAIM, new MapSqlParameterSource()
+				.addValue("leaseUntil", now.plus(lease))
+				.addValue("now", now)
+				.addValue("limit", limit)
+				.addValue("maxAttempts", maxAttempts), (RowCallbackHandler) rs -> {
+			if ("FAILED".equals(rs.getString("status"))) {
+				failed[0]++;
+			} else {
+				messages.add(MESSAGE.mapRow(rs, messages.size()));
+			}
+		});
+		return new Claimed(messages, failed[0]);
+	}
+
+	public void markDelivered(Collection<Long> ids, OffsetDateTime now) {
+		jdbc.update(MARK_DELIVERED, new MapSqlParameterSource()
+				.addValue("ids", ids)
+				.addValue("now", now));
+	}
+
+	/**
+	 * @return how many of the rows ran out of attempts and were marked FAILED
+	 */
+	public long reschedule(Collection<Long> ids, String error, int maxAttempts,
+						   Duration initialBackoff, Duration maxBackoff, OffsetDateTime now) {
+		String truncated = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+		return jdbc.queryForList(RESCHEDULE, new MapSqlParameterSource()
+						.addValue("ids", ids)
+						.addValue("maxAttempts", maxAttempts)
+						.addValue("maxBackoff", maxBackoff.toMillis())
+						.addValue("initialBackoff", initialBackoff.toMillis())
+						.addValue("error", truncated)
+						.addValue("now", now), String.class)
+				.stream()
+				.filter("FAILED"::equals)
+				.count();
+	}
+
+	public Backlog backlog(OffsetDateTime now) {
+		return jdbc.queryForObject(BACKLOG, new MapSqlParameterSource("now", now),
+				(rs, i) -> new Backlog(rs.getLong("pending"), rs.getDouble("lag_seconds")));
+	}
+
+	public record Claimed(List<ForwardingMessage> messages, int failed) {
+
+		public int size() {
+			return messages.size() + failed;
+		}
+	}
+
+	public record Backlog(long pending, double lagSeconds) {}
+}
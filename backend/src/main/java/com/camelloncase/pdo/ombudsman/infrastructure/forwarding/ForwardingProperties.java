@@ -0,0 +1,154 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.forwarding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "forwarding")
+public class ForwardingProperties {
+
+	/**
+	 * {@code http} for the agencies' endpoint, {@code file} for the local {@link FileForwardingClient} stub.
+	 */
+	private String mode = "file";
+
+	private URI baseUrl = URI.create("http://localhost:8091");
+
+	private Duration connectTimeout = Duration.ofSeconds(1);
+
+	private Duration readTimeout = Duration.ofSeconds(5);
+
+	/**
+	 * Where the file stub appends one NDJSON file per agency.
+	 */
+	private Path directory = Path.of("build", "forwarding");
+
+	private final Dispatcher dispatcher = new Dispatcher();
+
+	public String getMode() {
+		return mode;
+	}
+
+	public void setMode(String mode) {
+		this.mode = mode;
+	}
+
+	public URI getBaseUrl() {
+		return baseUrl;
+	}
+
+	public void setBaseUrl(URI baseUrl) {
+		this.baseUrl = baseUrl;
+	}
+
+	public Duration getConnectTimeout() {
+		return connectTimeout;
+	}
+
+	public void setConnectTimeout(Duration connectTimeout) {
+		this.connectTimeout = connectTimeout;
+	}
+
+	public Duration getReadTimeout() {
+		return readTimeout;
+	}
+
+	public void setReadTimeout(Duration readTimeout) {
+		this.readTimeout = readTimeout;
+	}
+
+	public Path getDirectory() {
+		return directory;
+	}
+
+	public void setDirectory(Path directory) {
+		this.directory = directory;
+	}
+
+	public Dispatcher getDispatcher() {
+		return dispatcher;
+	}
+
+	public static class Dispatcher {
+
+		private boolean enabled = true;
+
+		private Duration pollInterval = Duration.ofSeconds(1);
+
+		/**
+		 * Rows claimed per round; they are then grouped into one delivery per agency.
+		 */
+		private int batchSize = 200;
+
+		/**
+		 * How long a claimed row stays invisible to other dispatchers; must exceed the read timeout.
+		 */
+		private Duration lease = Duration.ofMinutes(1);
+
+		private int maxAttempts = 10;
+
+		private Duration initialBackoff = Duration.ofSeconds(5);
+
+		private Duration maxBackoff = Duration.ofMinutes(30);
+
+		public boolean isEnabled() {
+			return enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Duration getPollInterval() {
+			return pollInterval;
+		}
+
+		public void setPollInterval(Duration pollInterval) {
+			this.pollInterval = pollInterval;
+		}
+
+		public int getBatchSize() {
+			return batchSize;
+		}
+
+		public void setBatchSize(int batchSize) {
+			this.batchSize = batchSize;
+		}
+
+		public Duration getLease() {
+			return lease;
+		}
+
+		public void setLease(Duration lease) {
+			this.lease = lease;
+		}
+
+		public int getMaxAttempts() {
+			return maxAttempts;
+		}
+
+		public void setMaxAttempts(int maxAttempts) {
+			this.maxAttempts = maxAttempts;
+		}
+
+		public Duration getInitialBackoff() {
+			return initialBackoff;
+		}
+
+		public void setInitialBackoff(Duration initialBackoff) {
+			this.initialBackoff = initialBackoff;
+		}
+
+		public Duration getMaxBackoff() {
+			return maxBackoff;
+		}
+
+		public void setMaxBackoff(Duration maxBackoff) {
+			this.maxBackoff = maxBackoff;
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.forwarding;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * {@code POST {forwarding.base-url}/agencies/{id}/cases} with a JSON array of
+ * {@code {"idempotencyKey":..., "payload":...}}; any 2xx confirms the whole batch.
+ */
+@Component
+@ConditionalOnProperty(prefix = "forwarding", name = "mode", havingValue = "http")
+class HttpForwardingClient implements ForwardingClient {
+
+	private final RestClient restClient;
+
+	HttpForwardingClient(ForwardingProperties properties, RestClient.Builder builder) {
+		HttpClient httpClient = HttpClient.newBuilder()
+				.connectTimeout(properties.getConnectTimeout())
+				.build();
+		JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+		requestFactory.setReadTimeout(properties.getReadTimeout());
+
+		this.restClient = builder
+				.baseUrl(properties.getBaseUrl().toString())
+				.requestFactory(requestFactory)
+				.build();
+	}
+
+	@Override
+	public void deliver(UUID destinationAgencyId, List<ForwardingMessage> messages) {
+		// payloads are already JSON, so the array is assembled as text instead of re-parsed
+		StringJoiner body = new StringJoiner(",", "[", "]");
+		for (ForwardingMessage message : messages) {
+			body.add("{\"idempotencyKey\":\"" + message.idempotencyKey() + "\",\"payload\":" + message.payload() + "}");
+		}
+		try {
+			restClient.post()
+					.uri("/agencies/{id}/cases", destinationAgencyId)
+					.contentType(MediaType.APPLICATION_JSON)
+					.body(body.toString())
+					.retrieve()
+					.toBodilessEntity();
+		} catch (RestClientException e) {
+			throw new ForwardingException("forwarding to agency " + destinationAgencyId + " failed", e);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.iza;
+
+import com.camelloncase.pdo.ombudsman.domain.IzaTriageResult;
+import com.camelloncase.pdo.ombudsman.domain.enums.CaseCategory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * {@code POST {iza.base-url}/triage} over the JDK client, with the connect timeout on the
+ * client and the read timeout on every request.
+ */
+@Component
+@ConditionalOnProperty(prefix = "iza", name = "mode", havingValue = "http")
+class HttpIzaTriageBackend implements IzaTriageBackend {
+
+	private final RestClient restClient;
+
+	HttpIzaTriageBackend(IzaProperties properties, RestClient.Builder builder) {
+		HttpClient httpClient = HttpClient.newBuilder()
+				.connectTimeout(properties.getConnectTimeout())
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.build();
+		JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+		requestFactory.setReadTimeout(properties.getReadTimeout());
+
+		this.restClient = builder
+				.baseUrl(properties.getBaseUrl().toString())
+				.requestFactory(requestFactory)
+				.build();
+	}
+
+	@Override
+	public IzaTriageResult call(IzaTriageRequest request) {
+		try {
+			TriageResponse response = restClient.post()
+					.uri("/triage")
+					.contentType(MediaType.APPLICATION_JSON)
+					.body(request)
+					.retrieve()
+					.body(TriageResponse.class);
+			if (response == null) {
+				throw new IzaTriageException("IZA returned an empty body", false);
+			}
+			return new IzaTriageResult(
+					response.suggestedCategory(),
+					response.suggestedAgencyId(),
+					response.confidence(),
+					response.rationale()
+			);
+		} catch (ResourceAccessException e) {
+			throw new IzaTriageException("IZA unreachable: " + e.getMessage(), e, true);
+		} catch (RestClientResponseException e) {
+			int status = e.getStatusCode().value();
+			boolean retryable = e.getStatusCode().is5xxServerError() || status == HttpStatus.TOO_MANY_REQUESTS.value();
+			throw new IzaTriageException("IZA answered " + status, e, retryable);
+		}
+	}
+
+	private record TriageResponse(
+			CaseCategory suggestedCategory,
+			UUID suggestedAgencyId,
+			BigDecimal confidence,
+			String rationale
+	) {}
+}
@@ -0,0 +1,129 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.iza;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Count-based circuit breaker over the last {@code windowSize} attempts.
+ * <p>
+ * CLOSED lets everything through and opens once at least {@code minimumCalls} outcomes are
+ * recorded and the failure rate reaches the threshold. OPEN rejects until {@code openFor} has
+ * passed, then HALF_OPEN admits {@code halfOpenCalls} trial calls: one failure reopens, all
+ * succeeding closes with an empty window. State changes are rare, so a lock is enough.
+ */
+final class IzaCircuitBreaker {
+
+	enum State { CLOSED, OPEN, HALF_OPEN }
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final boolean[] failures;
+	private final int minimumCalls;
+	private final double failureRateThreshold;
+	private final long openForNanos;
+	private final int halfOpenCalls;
+
+	private volatile State state = State.CLOSED;
+	private int next;
+	private int recorded;
+	private int failed;
+	private long openedAt;
+	private int trialsStarted;
+	private int trialsSucceeded;
+
+	IzaCircuitBreaker(IzaProperties.CircuitBreaker properties) {
+		this.failures = new boolean[properties.getWindowSize()];
+		this.minimumCalls = properties.getMinimumCalls();
+		this.failureRateThreshold = properties.getFailureRateThreshold();
+		this.openForNanos = properties.getOpenFor().toNanos();
+		this.halfOpenCalls = properties.getHalfOpenCalls();
+	}
+
+	State state() {
+		return state;
+	}
+
+	/**
+	 * @return whether a call may go out now; every permitted call must report back exactly once
+	 */
+	boolean tryAcquire() {
+		if (state == State.CLOSED) {
+			return true;
+		}
+		lock.lock();
+		try {
+			if (state == State.OPEN) {
+				if (System.nanoTime() - openedAt < openForNanos) {
+					return false;
+				}
+				state = State.HALF_OPEN;
+				trialsStarted = 0;
+				trialsSucceeded = 0;
+			}
+			if (state == State.HALF_OPEN) {
+				if (trialsStarted >= halfOpenCalls) {
+					return false;
+				}
+				trialsStarted++;
+			}
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	void onSuccess() {
+		record(false);
+	}
+
+	void onFailure() {
+		record(true);
+	}
+
+	private void record(boolean failure) {
+		lock.lock();
+		try {
+			switch (state) {
+				case HALF_OPEN -> {
+					if (failure) {
+						open();
+					} else if (++trialsSucceeded >= halfOpenCalls) {
+						close();
+					}
+				}
+				case CLOSED -> {
+					if (recorded == failures.length) {
+						if (failures[next]) {
+							failed--;
+						}
+					} else {
+						recorded++;
+					}
+					failures[next] = failure;
+					if (failure) {
+						failed++;
+					}
+					next = (next + 1) % failures.length;
+					if (recorded >= minimumCalls && failed >= failureRateThreshold * recorded) {
+						open();
+					}
+				}
+				case OPEN -> {
+					// late outcome of a call admitted before the breaker opened
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void open() {
+		state = State.OPEN;
+		openedAt = System.nanoTime();
+	}
+
+	private void close() {
+		state = State.CLOSED;
+		next = 0;
+		recorded = 0;
+		failed = 0;
+	}
+}
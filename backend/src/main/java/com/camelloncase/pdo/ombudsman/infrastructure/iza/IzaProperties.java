@@ -0,0 +1,339 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.iza;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "iza")
+public class IzaProperties {
+
+	/**
+	 * Whether new cases without a client-supplied triage are sent to IZA.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * {@code http} for the real service, {@code stub} for the local {@link StubIzaTriageBackend}.
+	 */
+	private String mode = "stub";
+
+	private URI baseUrl = URI.create("http://localhost:8090");
+
+	private Duration connectTimeout = Duration.ofMillis(500);
+
+	private Duration readTimeout = Duration.ofSeconds(2);
+
+	private final Retry retry = new Retry();
+
+	private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+	private final Bulkhead bulkhead = new Bulkhead();
+
+	private final Sweep sweep = new Sweep();
+
+	private final Stub stub = new Stub();
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public String getMode() {
+		return mode;
+	}
+
+	public void setMode(String mode) {
+		this.mode = mode;
+	}
+
+	public URI getBaseUrl() {
+		return baseUrl;
+	}
+
+	public void setBaseUrl(URI baseUrl) {
+		this.baseUrl = baseUrl;
+	}
+
+	public Duration getConnectTimeout() {
+		return connectTimeout;
+	}
+
+	public void setConnectTimeout(Duration connectTimeout) {
+		this.connectTimeout = connectTimeout;
+	}
+
+	public Duration getReadTimeout() {
+		return readTimeout;
+	}
+
+	public void setReadTimeout(Duration readTimeout) {
+		this.readTimeout = readTimeout;
+	}
+
+	public Retry getRetry() {
+		return retry;
+	}
+
+	public CircuitBreaker getCircuitBreaker() {
+		return circuitBreaker;
+	}
+
+	public Bulkhead getBulkhead() {
+		return bulkhead;
+	}
+
+	public Sweep getSweep() {
+		return sweep;
+	}
+
+	public Stub getStub() {
+		return stub;
+	}
+
+	public static class Retry {
+
+		/**
+		 * Total attempts, including the first.
+		 */
+		private int maxAttempts = 3;
+
+		private Duration initialBackoff = Duration.ofMillis(100);
+
+		private Duration maxBackoff = Duration.ofSeconds(1);
+
+		public int getMaxAttempts() {
+			return maxAttempts;
+		}
+
+		public void setMaxAttempts(int maxAttempts) {
+			this.maxAttempts = maxAttempts;
+		}
+
+		public Duration getInitialBackoff() {
+			return initialBackoff;
+		}
+
+		public void setInitialBackoff(Duration initialBackoff) {
+			this.initialBackoff = initialBackoff;
+		}
+
+		public Duration getMaxBackoff() {
+			return maxBackoff;
+		}
+
+		public void setMaxBackoff(Duration maxBackoff) {
+			this.maxBackoff = maxBackoff;
+		}
+	}
+
+	public static class CircuitBreaker {
+
+		/**
+		 * Number of most recent attempts the failure rate is computed over.
+		 */
+		private int windowSize = 50;
+
+		/**
+		 * Attempts needed in the window before the breaker may open.
+		 */
+		private int minimumCalls = 20;
+
+		private double failureRateThreshold = 0.5;
+
+		private Duration openFor = Duration.ofSeconds(30);
+
+		/**
+		 * Trial calls let through while half-open; all must succeed to close again.
+		 */
+		private int halfOpenCalls = 3;
+
+		public int getWindowSize() {
+			return windowSize;
+		}
+
+		public void setWindowSize(int windowSize) {
+			this.windowSize = windowSize;
+		}
+
+		public int getMinimumCalls() {
+			return minimumCalls;
+		}
+
+		public void setMinimumCalls(int minimumCalls) {
+			this.minimumCalls = minimumCalls;
+		}
+
+		public double getFailureRateThreshold() {
+			return failureRateThreshold;
+		}
+
+		public void setFailureRateThreshold(double failureRateThreshold) {
+			this.failureRateThreshold = failureRateThreshold;
+		}
+
+		public Duration getOpenFor() {
+			return openFor;
+		}
+
+		public void setOpenFor(Duration openFor) {
+			this.openFor = openFor;
+		}
+
+		public int getHalfOpenCalls() {
+			return halfOpenCalls;
+		}
+
+		public void setHalfOpenCalls(int halfOpenCalls) {
+			this.halfOpenCalls = halfOpenCalls;
+		}
+	}
+
+	public static class Bulkhead {
+
+		private int maxConcurrentCalls = 32;
+
+		/**
+		 * How long a call may wait for a free slot before it is rejected.
+		 */
+		private Duration maxWait = Duration.ofMillis(50);
+
+		public int getMaxConcurrentCalls() {
+			return maxConcurrentCalls;
+		}
+
+		public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+			this.maxConcurrentCalls = maxConcurrentCalls;
+		}
+
+		public Duration getMaxWait() {
+			return maxWait;
+		}
+
+		public void setMaxWait(Duration maxWait) {
+			this.maxWait = maxWait;
+		}
+	}
+
+	/**
+	 * Periodic retry of cases whose after-commit triage was rejected or failed.
+	 */
+	public static class Sweep {
+
+		private Duration interval = Duration.ofMinutes(1);
+
+		/**
+		 * Cases younger than this are left to their first, after-commit attempt.
+		 */
+		private Duration minAge = Duration.ofMinutes(1);
+
+		/**
+		 * Cases older than this are no longer retried.
+		 */
+		private Duration maxAge = Duration.ofDays(1);
+
+		private int batchSize = 100;
+
+		/**
+		 * Calls in flight per sweep; kept well below the bulkhead so live traffic keeps its slots.
+		 */
+		private int concurrency = 4;
+
+		public Duration getInterval() {
+			return interval;
+		}
+
+		public void setInterval(Duration interval) {
+			this.interval = interval;
+		}
+
+		public Duration getMinAge() {
+			return minAge;
+		}
+
+		public void setMinAge(Duration minAge) {
+			this.minAge = minAge;
+		}
+
+		public Duration getMaxAge() {
+			return maxAge;
+		}
+
+		public void setMaxAge(Duration maxAge) {
+			this.maxAge = maxAge;
+		}
+
+		public int getBatchSize() {
+			return batchSize;
+		}
+
+		public void setBatchSize(int batchSize) {
+			this.batchSize = batchSize;
+		}
+
+		public int getConcurrency() {
+			return concurrency;
+		}
+
+		public void setConcurrency(int concurrency) {
+			this.concurrency = concurrency;
+		}
+	}
+
+	public static class Stub {
+
+		private Duration latency = Duration.ofMillis(150);
+
+		/**
+		 * Uniform random extra latency on top of {@link #latency}.
+		 */
+		private Duration latencyJitter = Duration.ofMillis(100);
+
+		/**
+		 * Share of calls (0..1) answered with a retryable error.
+		 */
+		private double errorRate = 0.0;
+
+		/**
+		 * Share of calls (0..1) that hang past the read timeout.
+		 */
+		private double timeoutRate = 0.0;
+
+		public Duration getLatency() {
+			return latency;
+		}
+
+		public void setLatency(Duration latency) {
+			this.latency = latency;
+		}
+
+		public Duration getLatencyJitter() {
+			return latencyJitter;
+		}
+
+		public void setLatencyJitter(Duration latencyJitter) {
+			this.latencyJitter = latencyJitter;
+		}
+
+		public double getErrorRate() {
+			return errorRate;
+		}
+
+		public void setErrorRate(double errorRate) {
+			this.errorRate = errorRate;
+		}
+
+		public double getTimeoutRate() {
+			return timeoutRate;
+		}
+
+		public void setTimeoutRate(double timeoutRate) {
+			this.timeoutRate = timeoutRate;
+		}
+	}
+}
@@ -0,0 +1,11 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.iza;
+
+import com.camelloncase.pdo.ombudsman.domain.IzaTriageResult;
+
+/**
+ * A single, unprotected call to IZA; {@link ResilientIzaTriageClient} adds the policies around it.
+ */
+interface IzaTriageBackend {
+
+	IzaTriageResult call(IzaTriageRequest request);
+}
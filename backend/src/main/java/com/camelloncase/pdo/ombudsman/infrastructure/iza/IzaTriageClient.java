@@ -0,0 +1,15 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.iza;
+
+import com.camelloncase.pdo.ombudsman.domain.IzaTriageResult;
+
+/**
+ * Server-side access to the IZA triage service (ADR 0007).
+ */
+public interface IzaTriageClient {
+
+	/**
+	 * @throws IzaTriageException when IZA cannot answer within the configured timeouts, retries,
+	 *                            circuit breaker and bulkhead
+	 */
+	IzaTriageResult triage(IzaTriageRequest request);
+}
@@ -0,0 +1,24 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.iza;
+
+/**
+ * IZA failed or was not called. {@code retryable} marks transport errors, timeouts and
+ * 5xx/429 answers, which are worth another attempt; everything else fails fast.
+ */
+public class IzaTriageException extends RuntimeException {
+
+	private final boolean retryable;
+
+	public IzaTriageException(String message, boolean retryable) {
+		super(message, null, false, false);
+		this.retryable = retryable;
+	}
+
+	public IzaTriageException(String message, Throwable cause, boolean retryable) {
+		super(message, cause, false, false);
+		this.retryable = retryable;
+	}
+
+	public boolean isRetryable() {
+		return retryable;
+	}
+}
@@ -0,0 +1,8 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.iza;
+
+import com.camelloncase.pdo.ombudsman.domain.enums.CaseCategory;
+
+/**
+ * What IZA sees of a case: the reporter's text and chosen category, never their identity (ADR 0002).
+ */
+public record IzaTriageRequest(CaseCategory category, String description) {}
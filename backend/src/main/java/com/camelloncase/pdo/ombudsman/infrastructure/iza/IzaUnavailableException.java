@@ -0,0 +1,12 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.iza;
+
+/**
+ * IZA was not called at all because the client is shedding load (bulkhead full or circuit
+ * open). Not a failure of the request: it can simply be sent again later.
+ */
+public class IzaUnavailableException extends IzaTriageException {
+
+	public IzaUnavailableException(String message) {
+		super(message, false);
+	}
+}
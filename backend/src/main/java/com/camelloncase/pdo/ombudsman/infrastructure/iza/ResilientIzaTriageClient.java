@@ -0,0 +1,135 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.iza;
+
+import com.camelloncase.pdo.ombudsman.domain.IzaTriageResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link IzaTriageClient} around the configured {@link IzaTriageBackend}: a bulkhead caps
+ * concurrent calls, every attempt passes the circuit breaker, and retryable failures are retried
+ * up to {@code iza.retry.max-attempts} with full-jitter exponential backoff. Callers are expected
+ * to be on virtual threads, so waiting on IZA never holds a platform thread.
+ * <p>
+ * Publishes {@code iza.requests}, {@code iza.request.duration} and {@code iza.errors}
+ * (docs/observability) plus {@code iza.circuit.state} (0 closed, 1 open, 2 half-open).
+ * Calls shed before reaching IZA throw {@link IzaUnavailableException} and are counted in
+ * {@code iza.rejected} by reason, not as errors.
+ */
+@Component
+public class ResilientIzaTriageClient implements IzaTriageClient {
+
+	private final IzaTriageBackend backend;
+	private final IzaProperties.Retry retry;
+	private final Duration bulkheadWait;
+	private final Semaphore bulkhead;
+	private final IzaCircuitBreaker circuitBreaker;
+	private final MeterRegistry meterRegistry;
+	private final Counter requests;
+
+	ResilientIzaTriageClient(IzaTriageBackend backend, IzaProperties properties, MeterRegistry meterRegistry) {
+		this.backend = backend;
+		this.retry = properties.getRetry();
+		this.bulkheadWait = properties.getBulkhead().getMaxWait();
+		this.bulkhead = new Semaphore(properties.getBulkhead().getMaxConcurrentCalls());
+		this.circuitBreaker = new IzaCircuitBreaker(properties.getCircuitBreaker());
+		this.meterRegistry = meterRegistry;
+		this.requests = meterRegistry.counter("iza.requests");
+
+		Gauge.builder("iza.circuit.state", circuitBreaker, cb -> cb.state().ordinal())
+				.register(meterRegistry);
+		Gauge.builder("iza.bulkhead.available", bulkhead, Semaphore::availablePermits)
+				.register(meterRegistry);
+	}
+
+	@Override
+	public IzaTriageResult triage(IzaTriageRequest request) {
+		if (!acquireBulkhead()) {
+			rejected("bulkhead_full");
+			throw new IzaUnavailableException("IZA bulkhead full");
+		}
+		try {
+			return withRetries(request);
+		} finally {
+			bulkhead.release();
+		}
+	}
+
+	private IzaTriageResult withRetries(IzaTriageRequest request) {
+		for (int attempt = 1; ; attempt++) {
+			if (!circuitBreaker.tryAcquire()) {
+				rejected("circuit_open");
+				throw new IzaUnavailableException("IZA circuit breaker is open");
+			}
+
+			requests.increment();
+			Timer.Sample sample = Timer.start(meterRegistry);
+			String outcome = "success";
+			try {
+				IzaTriageResult result = backend.call(request);
+				circuitBreaker.onSuccess();
+				return result;
+			} catch (IzaTriageException e) {
+				outcome = e.isRetryable() ? "transient" : "rejected";
+				// a 4xx is our request's fault, not IZA degrading
+				if (e.isRetryable()) {
+					circuitBreaker.onFailure();
+				} else {
+					circuitBreaker.onSuccess();
+				}
+				error(outcome);
+				if (!e.isRetryable() || attempt >= retry.getMaxAttempts()) {
+					throw e;
+				}
+			} catch (RuntimeException e) {
+				outcome = "unexpected";
+				circuitBreaker.onFailure();
+				error(outcome);
+				throw new IzaTriageException("IZA call failed: " + e.getMessage(), e, false);
+			} finally {
+				sample.stop(meterRegistry.timer("iza.request.duration", "outcome", outcome));
+			}
+			backoff(attempt);
+		}
+	}
+
+	private boolean acquireBulkhead() {
+		try {
+			return bulkhead.tryAcquire(bulkheadWait.toNanos(), TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * Full jitter: a uniform delay in {@code [0, min(max, initial * 2^(attempt-1))]}, so
+	 * clients retrying after the same outage spread out instead of arriving together.
+	 */
+	private void backoff(int attempt) {
+		long cap = Math.min(
+				retry.getMaxBackoff().toMillis(),
+				retry.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20));
+		try {
+			Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IzaTriageException("IZA retry interrupted", false);
+		}
+	}
+
+	private void error(String reason) {
+		meterRegistry.counter("iza.errors", "reason", reason).increment();
+	}
+
+	private void rejected(String reason) {
+		meterRegistry.counter("iza.rejected", "reason", reason).increment();
+	}
+}
@@ -0,0 +1,61 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.iza;
+
+import com.camelloncase.pdo.ombudsman.domain.IzaTriageResult;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Offline stand-in for IZA with configurable latency and injected errors and timeouts
+ * ({@code iza.stub.*}), so intake throughput under IZA degradation can be load-tested
+ * without the real service. It echoes the reporter's category back as the suggestion.
+ */
+@Component
+@ConditionalOnProperty(prefix = "iza", name = "mode", havingValue = "stub", matchIfMissing = true)
+class StubIzaTriageBackend implements IzaTriageBackend {
+
+	private static final BigDecimal CONFIDENCE = new BigDecimal("0.5000");
+
+	private final IzaProperties properties;
+
+	StubIzaTriageBackend(IzaProperties properties) {
+		this.properties = properties;
+	}
+
+	@Override
+	public IzaTriageResult call(IzaTriageRequest request) {
+		IzaProperties.Stub stub = properties.getStub();
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Duration readTimeout = properties.getReadTimeout();
+
+		if (random.nextDouble() < stub.getTimeoutRate()) {
+			sleep(readTimeout);
+			throw new IzaTriageException("IZA stub: read timed out after " + readTimeout, true);
+		}
+
+		long jitter = stub.getLatencyJitter().toMillis();
+		Duration latency = stub.getLatency().plusMillis(jitter > 0 ? random.nextLong(jitter + 1) : 0);
+		if (latency.compareTo(readTimeout) > 0) {
+			sleep(readTimeout);
+			throw new IzaTriageException("IZA stub: read timed out after " + readTimeout, true);
+		}
+		sleep(latency);
+
+		if (random.nextDouble() < stub.getErrorRate()) {
+			throw new IzaTriageException("IZA stub: injected 503", true);
+		}
+		return new IzaTriageResult(request.category(), null, CONFIDENCE, "stub triage");
+	}
+
+	private static void sleep(Duration duration) {
+		try {
+			Thread.sleep(duration);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IzaTriageException("IZA stub: interrupted", false);
+		}
+	}
+}
@@ -1,6 +1,11 @@
 package com.camelloncase.pdo.shared.config.jwt;
 
+import com.camelloncase.pdo.auth.application.JwtClaims;
 import com.camelloncase.pdo.auth.application.JwtService;
+import com.camelloncase.pdo.user.application.PrincipalCache;
+import com.camelloncase.pdo.user.application.TokenVersionRegistry;
+import com.camelloncase.pdo.user.domain.User;
+import com.camelloncase.pdo.user.domain.enums.Role;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,6 +14,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -27,15 +33,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+	private final PrincipalCache principalCache;
+	private final TokenVersionRegistry tokenVersions;
+	private final JwtProperties properties;
 	private final ObjectMapper objectMapper;
 
     public JwtAuthenticationFilter(
 			JwtService jwtService,
 			@Lazy UserDetailsService userDetailsService,
+			PrincipalCache principalCache,
+			TokenVersionRegistry tokenVersions,
+			JwtProperties properties,
 			ObjectMapper objectMapper
 	) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+		this.principalCache = principalCache;
+		this.tokenVersions = tokenVersions;
+		this.properties = properties;
 		this.objectMapper = objectMapper;
 	}
 
@@ -47,7 +62,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 				|| path.startsWith("/swagger-ui")
 				|| "/swagger-ui.html".equals(path)
 				|| "/error".equals(path)
-				|| path.startsWith("/actuator");
+				|| path.startsWith("/actuator/health");
 	}
 
     @Override
@@ -65,15 +80,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 		final String jwt = authHeader.substring(7); // removing prefix "Bearer"
 
         try {
-            final String userEmail = jwtService.extractUsername(jwt);
+            // one parse and signature check per request
+            final JwtClaims claims = jwtService.parse(jwt);
+            final String userEmail = claims.subject();
 
             if(userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                UserDetails UserDetails = userDetailsService.loadUserByUsername(userEmail);
+                UserDetails UserDetails = properties.isStateless() ? statelessPrincipal(claims) : null;
 
-                if (!jwtService.isTokenValid(jwt, UserDetails)) {
-					writeUnauthorized(request, response, "Invalid or expired token");
-					return;
+                if (UserDetails == null) {
+                    UserDetails = principalCache.get(userEmail, userDetailsService::loadUserByUsername);
+
+                    // cached for up to the cache TTL; a token issued after a revocation elsewhere is newer
+                    if (jwtService.isNewerThan(claims, UserDetails)) {
+                        principalCache.invalidate(userEmail);
+                        UserDetails = principalCache.get(userEmail, userDetailsService::loadUserByUsername);
+                    }
+
+                    if (!jwtService.isTokenValid(claims, UserDetails)) {
+                        writeUnauthorized(request, response, "Invalid or expired token");
+                        return;
+                    }
                 }
 
 				UsernamePasswordAuthenticationToken authToken =
@@ -91,6 +118,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
+	/**
+	 * Builds the principal from the verified claims alone when the token version is known to be
+	 * current; returns null to fall back to the database lookup.
+	 */
+	private UserDetails statelessPrincipal(JwtClaims claims) {
+		switch (tokenVersions.check(claims.userId(), claims.tokenVersion())) {
+			case REVOKED -> throw new BadCredentialsException("Token has been revoked");
+			case UNKNOWN -> {
+				return null;
+			}
+			default -> {
+			}
+		}
+
+		if (claims.roles() == null || claims.roles().size() != 1) {
+			return null;
+		}
+		String authority = claims.roles().get(0);
+		if (!authority.startsWith("ROLE_")) {
+			return null;
+		}
+		try {
+			Role role = Role.valueOf(authority.substring("ROLE_".length()));
+			return User.principalOf(claims.userId(), claims.subject(), role, claims.tokenVersion());
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
 	private void writeUnauthorized(HttpServletRequest request, HttpServletResponse response, String message) throws IOException {
 		response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
 		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
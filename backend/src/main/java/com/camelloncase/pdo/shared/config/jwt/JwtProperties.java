@@ -3,6 +3,8 @@ package com.camelloncase.pdo.shared.config.jwt;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 @ConfigurationProperties(prefix = "security.jwt")
 public class JwtProperties {
@@ -11,6 +13,17 @@ public class JwtProperties {
 
 	private long expirationMs = 3600000L;
 
+	/**
+	 * Authenticate requests from verified claims alone, without loading the user;
+	 * revocation is then enforced through the token version ("tv" claim).
+	 */
+	private boolean stateless = false;
+
+	/**
+	 * How often the in-memory token versions are refreshed from {@code users}.
+	 */
+	private Duration tokenVersionRefresh = Duration.ofSeconds(5);
+
 	public String getSecret() {
 		return secret;
 	}
@@ -26,4 +39,20 @@ public class JwtProperties {
 	public void setExpirationMs(long expirationMs) {
 		this.expirationMs = expirationMs;
 	}
+
+	public boolean isStateless() {
+		return stateless;
+	}
+
+	public void setStateless(boolean stateless) {
+		this.stateless = stateless;
+	}
+
+	public Duration getTokenVersionRefresh() {
+		return tokenVersionRefresh;
+	}
+
+	public void setTokenVersionRefresh(Duration tokenVersionRefresh) {
+		this.tokenVersionRefresh = tokenVersionRefresh;
+	}
 }
@@ -0,0 +1,107 @@
+package com.camelloncase.pdo.shared.config.security;
+
+import com.camelloncase.pdo.shared.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt on a small dedicated pool, so a login burst queues here instead of occupying every
+ * request thread. When the queue is full the call fails straight away with
+ * {@link ServiceBusyException}, answered as 503 with {@code Retry-After}.
+ * <p>
+ * {@link #upgradeEncoding} reports hashes whose cost differs from the configured strength;
+ * Spring Security then rehashes them through {@code UserDetailsPasswordService} on login.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+	private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+	private final BCryptPasswordEncoder delegate;
+	private final int strength;
+	private final Duration retryAfter;
+	private final ThreadPoolExecutor executor;
+	private final Counter rejected;
+
+	public BoundedPasswordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+		this.strength = properties.getStrength();
+		this.delegate = new BCryptPasswordEncoder(strength);
+		this.retryAfter = properties.getRetryAfter();
+
+		int threads = properties.getThreads() > 0
+				? properties.getThreads()
+				: Runtime.getRuntime().availableProcessors();
+		this.executor = new ThreadPoolExecutor(
+				threads, threads,
+				0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(Math.max(properties.getQueueCapacity(), 1)),
+				Thread.ofPlatform().name("password-hash-", 1).daemon(true).factory(),
+				new ThreadPoolExecutor.AbortPolicy());
+
+		this.rejected = meterRegistry.counter("password.hashing.rejected");
+		Gauge.builder("password.hashing.queue", executor, e -> e.getQueue().size())
+				.register(meterRegistry);
+		Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+				.register(meterRegistry);
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return run(() -> delegate.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return run(() -> delegate.matches(rawPassword, encodedPassword));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		if (encodedPassword == null) {
+			return false;
+		}
+		Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+		return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+	}
+
+	@Override
+	public void close() {
+		executor.shutdownNow();
+	}
+
+	private <T> T run(Callable<T> task) {
+		Future<T> future;
+		try {
+			future = executor.submit(task);
+		} catch (RejectedExecutionException e) {
+			rejected.increment();
+			throw new ServiceBusyException("Too many concurrent logins, try again shortly", retryAfter);
+		}
+
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			throw new IllegalStateException("Password hashing failed", e.getCause());
+		}
+	}
+}
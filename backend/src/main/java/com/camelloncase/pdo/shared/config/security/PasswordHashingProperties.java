@@ -0,0 +1,64 @@
+package com.camelloncase.pdo.shared.config.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "security.password-hashing")
+public class PasswordHashingProperties {
+
+	/**
+	 * BCrypt cost factor (log2 rounds). Stored hashes with a different cost are rehashed on the
+	 * next successful login.
+	 */
+	private int strength = 10;
+
+	/**
+	 * Threads dedicated to hashing; 0 means one per available processor.
+	 */
+	private int threads = 0;
+
+	/**
+	 * Requests allowed to wait for a hashing thread before new ones are rejected with 503.
+	 */
+	private int queueCapacity = 64;
+
+	/**
+	 * Sent as {@code Retry-After} when the queue is full.
+	 */
+	private Duration retryAfter = Duration.ofSeconds(1);
+
+	public int getStrength() {
+		return strength;
+	}
+
+	public void setStrength(int strength) {
+		this.strength = strength;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	public Duration getRetryAfter() {
+		return retryAfter;
+	}
+
+	public void setRetryAfter(Duration retryAfter) {
+		this.retryAfter = retryAfter;
+	}
+}
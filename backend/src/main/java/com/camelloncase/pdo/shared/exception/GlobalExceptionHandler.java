@@ -1,6 +1,7 @@
 package com.camelloncase.pdo.shared.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -10,14 +11,18 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.ErrorResponseException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -55,6 +60,50 @@ public class GlobalExceptionHandler {
 		return pd;
 	}
 
+	@ExceptionHandler(PreconditionFailedException.class)
+	public ProblemDetail handlePreconditionFailed(PreconditionFailedException ex, HttpServletRequest request) {
+		ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.PRECONDITION_FAILED);
+		pd.setTitle("Precondition Failed");
+		pd.setDetail(ex.getMessage());
+		pd.setProperty("path", request.getRequestURI());
+		pd.setProperty("timestamp", OffsetDateTime.now());
+		return pd;
+	}
+
+	@ExceptionHandler(ServiceBusyException.class)
+	public ResponseEntity<ProblemDetail> handleServiceBusy(ServiceBusyException ex, HttpServletRequest request) {
+		ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+		pd.setTitle("Service Unavailable");
+		pd.setDetail(ex.getMessage());
+		pd.setProperty("path", request.getRequestURI());
+		pd.setProperty("timestamp", OffsetDateTime.now());
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+				.body(pd);
+	}
+
+	@ExceptionHandler(TooManyRequestsException.class)
+	public ResponseEntity<ProblemDetail> handleTooManyRequests(TooManyRequestsException ex, HttpServletRequest request) {
+		ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.TOO_MANY_REQUESTS);
+		pd.setTitle("Too Many Requests");
+		pd.setDetail(ex.getMessage());
+		pd.setProperty("path", request.getRequestURI());
+		pd.setProperty("timestamp", OffsetDateTime.now());
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+				.header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+				.body(pd);
+	}
+
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public ProblemDetail handleOptimisticLocking(OptimisticLockingFailureException ex, HttpServletRequest request) {
+		ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.CONFLICT);
+		pd.setTitle("Conflict");
+		pd.setDetail("Resource was modified concurrently; reload and retry.");
+		pd.setProperty("path", request.getRequestURI());
+		pd.setProperty("timestamp", OffsetDateTime.now());
+		return pd;
+	}
+
 	@ExceptionHandler(MethodArgumentNotValidException.class)
 	public ProblemDetail handleValidation(MethodArgumentNotValidException ex, HttpServletRequest request) {
 		ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
@@ -74,6 +123,16 @@ public class GlobalExceptionHandler {
 		return pd;
 	}
 
+	@ExceptionHandler(MethodArgumentTypeMismatchException.class)
+	public ProblemDetail handleTypeMismatch(MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
+		ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+		pd.setTitle("Bad Request");
+		pd.setDetail("Parameter '" + ex.getName() + "' has an invalid value.");
+		pd.setProperty("path", request.getRequestURI());
+		pd.setProperty("timestamp", OffsetDateTime.now());
+		return pd;
+	}
+
 	@ExceptionHandler(HttpMessageNotReadableException.class)
 	public ProblemDetail handleNotReadable(HttpMessageNotReadableException ex, HttpServletRequest request) {
 		ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
@@ -112,4 +171,8 @@ public class GlobalExceptionHandler {
 		pd.setProperty("timestamp", OffsetDateTime.now());
 		return pd;
 	}
-}
\ No newline at end of file
+
+	private static String retryAfterSeconds(Duration retryAfter) {
+		return Long.toString(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+	}
+}
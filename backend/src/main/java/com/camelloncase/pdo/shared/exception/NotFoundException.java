@@ -1,7 +1,10 @@
 package com.camelloncase.pdo.shared.exception;
 
+/**
+ * Expected 404 outcome, so no stack trace is captured.
+ */
 public class NotFoundException extends RuntimeException {
 	public NotFoundException(String message) {
-		super(message);
+		super(message, null, false, false);
 	}
 }
@@ -0,0 +1,71 @@
+package com.camelloncase.pdo.user.application;
+
+import com.camelloncase.pdo.user.domain.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL'd cache of authenticated principals keyed by lower-cased email (the JWT subject),
+ * so steady-state requests authenticate without touching {@code users}.
+ * <p>
+ * Anything that changes what authentication depends on (status, password, email, role) must
+ * {@link #invalidate(String)} the user; other instances catch up within the TTL. Hit ratio is
+ * exported as the {@code cache.gets} meters of the {@code principals} cache.
+ */
+@Component
+public class PrincipalCache {
+
+	private final Cache<String, UserDetails> byEmail;
+
+	public PrincipalCache(PrincipalCacheProperties properties, MeterRegistry meterRegistry) {
+		this.byEmail = Caffeine.newBuilder()
+				.maximumSize(properties.getMaximumSize())
+				.expireAfterWrite(properties.getTtl())
+				.recordStats()
+				.build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "principals");
+	}
+
+	/**
+	 * @return a private copy of the cached principal, loading it on a miss; loader exceptions are not cached
+	 */
+	public UserDetails get(String email, Function<String, ? extends UserDetails> loader) {
+		UserDetails principal = byEmail.get(key(email), loader);
+		return principal instanceof User user ? new User(user) : principal;
+	}
+
+	/**
+	 * Invalidates now and again after commit, so a request racing the write transaction
+	 * cannot leave the old principal cached.
+	 */
+	public void invalidate(String email) {
+		if (email == null) {
+			return;
+		}
+		String key = key(email);
+		byEmail.invalidate(key);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					byEmail.invalidate(key);
+				}
+			});
+		}
+	}
+
+	private static String key(String email) {
+		return email.toLowerCase(Locale.ROOT);
+	}
+}
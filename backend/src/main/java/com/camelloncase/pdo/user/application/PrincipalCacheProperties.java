@@ -0,0 +1,34 @@
+package com.camelloncase.pdo.user.application;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "security.principal-cache")
+public class PrincipalCacheProperties {
+
+	private long maximumSize = 10_000;
+
+	/**
+	 * Also the longest another instance may keep serving a principal changed elsewhere.
+	 */
+	private Duration ttl = Duration.ofSeconds(60);
+
+	public long getMaximumSize() {
+		return maximumSize;
+	}
+
+	public void setMaximumSize(long maximumSize) {
+		this.maximumSize = maximumSize;
+	}
+
+	public Duration getTtl() {
+		return ttl;
+	}
+
+	public void setTtl(Duration ttl) {
+		this.ttl = ttl;
+	}
+}
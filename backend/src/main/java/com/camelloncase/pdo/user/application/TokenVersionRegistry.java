@@ -0,0 +1,115 @@
+package com.camelloncase.pdo.user.application;
+
+import com.camelloncase.pdo.shared.config.jwt.JwtProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current {@code users.token_version} per user, for stateless authentication.
+ * <p>
+ * Only non-zero versions are kept, so the map holds just the users who ever had their tokens
+ * revoked. It is loaded once after startup, then refreshed every
+ * {@code security.jwt.token-version-refresh} from rows whose {@code updated_at} moved, and told
+ * directly about revocations made on this instance. A token whose version is ahead of the map
+ * (issued after a change not yet seen) is reported as unknown and checked against the database.
+ */
+@Component
+public class TokenVersionRegistry {
+
+	public enum Check { CURRENT, REVOKED, UNKNOWN }
+
+	private static final Logger log = LoggerFactory.getLogger(TokenVersionRegistry.class);
+
+	/**
+	 * {@code updated_at} is set before commit and by other instances' clocks; re-reading this
+	 * much of the past covers both.
+	 */
+	private static final Duration SETTLE = Duration.ofSeconds(30);
+
+	private final JdbcTemplate jdbc;
+	private final JwtProperties properties;
+	private final Map<UUID, Integer> versions = new ConcurrentHashMap<>();
+
+	private volatile boolean ready;
+	private OffsetDateTime lastSync;
+
+	public TokenVersionRegistry(JdbcTemplate jdbc, JwtProperties properties) {
+		this.jdbc = jdbc;
+		this.properties = properties;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		if (!properties.isStateless()) {
+			return;
+		}
+		OffsetDateTime now = jdbc.queryForObject("select now()", OffsetDateTime.class);
+		jdbc.query("select id, token_version from users where token_version > 0",
+				rs -> { record(rs.getObject("id", UUID.class), rs.getInt("token_version")); });
+		lastSync = now;
+		ready = true;
+		log.info("Loaded {} revoked token versions", versions.size());
+	}
+
+	@Scheduled(fixedDelayString = "${security.jwt.token-version-refresh:5s}")
+	public void refresh() {
+		if (!ready) {
+			return;
+		}
+		OffsetDateTime now = jdbc.queryForObject("select now()", OffsetDateTime.class);
+		jdbc.query("select id, token_version from users where updated_at > ? and token_version > 0",
+				rs -> { record(rs.getObject("id", UUID.class), rs.getInt("token_version")); },
+				lastSync.minus(SETTLE));
+		lastSync = now;
+	}
+
+	/**
+	 * Called when this instance revoked a user's tokens; applied after commit when inside a
+	 * transaction, so a rollback cannot reject tokens that are still current.
+	 */
+	public void revoked(UUID userId, int tokenVersion) {
+		if (userId == null) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					record(userId, tokenVersion);
+				}
+			});
+			return;
+		}
+		record(userId, tokenVersion);
+	}
+
+	public Check check(UUID userId, Integer tokenVersion) {
+		if (!ready || userId == null || tokenVersion == null) {
+			return Check.UNKNOWN;
+		}
+		int current = versions.getOrDefault(userId, 0);
+		if (tokenVersion == current) {
+			return Check.CURRENT;
+		}
+		return tokenVersion < current ? Check.REVOKED : Check.UNKNOWN;
+	}
+
+	private void record(UUID userId, int tokenVersion) {
+		if (tokenVersion > 0) {
+			versions.merge(userId, tokenVersion, Math::max);
+		}
+	}
+}
@@ -12,27 +12,39 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Optional;
 import java.util.UUID;
 
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository repository;
     private final UserMapper mapper;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersions;
+    private final TransactionTemplate transactionTemplate;
 
     public UserService(UserRepository repository,
                        UserMapper mapper,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder,
+                       PrincipalCache principalCache,
+                       TokenVersionRegistry tokenVersions,
+                       TransactionTemplate transactionTemplate) {
         this.repository = repository;
         this.mapper = mapper;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
+        this.tokenVersions = tokenVersions;
+        this.transactionTemplate = transactionTemplate;
     }
 
     public UserResponse getById(UUID id) {
@@ -72,9 +84,17 @@ public class UserService implements UserDetailsService {
 			throw new EmailAlreadyInUseException(dto.email());
 		}
 
+		String previousEmail = user.getEmail();
         mapper.updateEntityFromDto(dto, user);
+		if (!previousEmail.equalsIgnoreCase(user.getEmail())) {
+			user.revokeTokens();
+		}
 
-        return mapper.toUserResponse(repository.save(user));
+		User saved = repository.save(user);
+		principalCache.invalidate(previousEmail);
+		principalCache.invalidate(saved.getEmail());
+		tokenVersions.revoked(saved.getId(), saved.getTokenVersion());
+        return mapper.toUserResponse(saved);
     }
 
 	public UserResponse updateStatus(UUID id, UpdateUserStatusRequest request) {
@@ -82,9 +102,15 @@ public class UserService implements UserDetailsService {
 		User user = (User) repository.findById(id)
 				.orElseThrow(() -> new UserNotFoundException(id));
 
-		user.setStatus(request.status());
+		if (user.getStatus() != request.status()) {
+			user.setStatus(request.status());
+			user.revokeTokens();
+		}
 
-		return mapper.toUserResponse(repository.save(user));
+		User saved = repository.save(user);
+		principalCache.invalidate(saved.getEmail());
+		tokenVersions.revoked(saved.getId(), saved.getTokenVersion());
+		return mapper.toUserResponse(saved);
 	}
 
 	public void softDelete(UUID id) {
@@ -92,7 +118,10 @@ public class UserService implements UserDetailsService {
 				.orElseThrow(() -> new UserNotFoundException(id));
 
 		user.setStatus(Status.DISABLED);
-		repository.save(user);
+		user.revokeTokens();
+		User saved = repository.save(user);
+		principalCache.invalidate(saved.getEmail());
+		tokenVersions.revoked(saved.getId(), saved.getTokenVersion());
 	}
 
 	// ---------- SELF-SERVICE (usuário logado) ----------
@@ -103,26 +132,43 @@ public class UserService implements UserDetailsService {
 	public UserResponse updateCurrentUser(UserSelfUpdateRequest dto) {
 		User user = getAuthenticatedUser();
 
+		String previousEmail = user.getEmail();
 		mapper.updateEntityFromSelfDto(dto, user);
 
-		return mapper.toUserResponse(repository.save(user));
+		User saved = repository.save(user);
+		principalCache.invalidate(previousEmail);
+		principalCache.invalidate(saved.getEmail());
+		return mapper.toUserResponse(saved);
 	}
 
+	/**
+	 * Both bcrypt calls run before the write transaction opens, so no pooled connection waits
+	 * on them; the write reloads the user and fails if the password changed in the meantime.
+	 */
 	public void changePassword(ChangePasswordRequest data) {
 		User loggedIn = getAuthenticatedUser();
 
-		if (!passwordEncoder.matches(data.currentPassword(), loggedIn.getPassword())) {
-			throw new IllegalArgumentException("Current password is incorrect");
-		}
-
 		if (!data.newPassword().equals(data.confirmNewPassword())) {
 			throw new IllegalArgumentException("New password and confirmation do not match");
 		}
 
+		if (!passwordEncoder.matches(data.currentPassword(), loggedIn.getPassword())) {
+			throw new IllegalArgumentException("Current password is incorrect");
+		}
+
 		String encryptedPassword = passwordEncoder.encode(data.newPassword());
-		loggedIn.changePassword(encryptedPassword);
 
-		repository.save(loggedIn);
+		transactionTemplate.executeWithoutResult(status -> {
+			User user = (User) repository.findById(loggedIn.getId())
+					.orElseThrow(() -> new UserNotFoundException(loggedIn.getId()));
+			if (!user.getPassword().equals(loggedIn.getPassword())) {
+				throw new IllegalArgumentException("Current password is incorrect");
+			}
+			user.changePassword(encryptedPassword);
+
+			principalCache.invalidate(user.getEmail());
+			tokenVersions.revoked(user.getId(), user.getTokenVersion());
+		});
 	}
 
 	// ---------- SPRING SECURITY (UserDetailsService) ----------
@@ -137,7 +183,30 @@ public class UserService implements UserDetailsService {
 				);
     }
 
+	/**
+	 * Called by Spring Security after a successful login whose stored hash has a different
+	 * BCrypt cost than configured. Not a password change, so issued tokens stay valid.
+	 * <p>
+	 * Login runs outside a transaction, so {@code userDetails} is detached; the user is reloaded
+	 * and only the hash is written, in a transaction of its own.
+	 */
+	@Override
+	@Transactional
+	public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+		UUID id = ((User) userDetails).getId();
+		User user = (User) repository.findById(id)
+				.orElseThrow(() -> new UserNotFoundException(id));
+		user.setPasswordHash(newPassword);
+
+		principalCache.invalidate(user.getEmail());
+		return user;
+	}
+
 	// ---------- Helper ----------
+	/**
+	 * Reloaded by id: in stateless mode the principal is built from token claims only and
+	 * carries neither the password hash nor the profile.
+	 */
 	private User getAuthenticatedUser() {
 		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
@@ -145,7 +214,8 @@ public class UserService implements UserDetailsService {
 			throw new IllegalStateException("No authenticated user found in security context");
 		}
 
-		return user;
+		return (User) repository.findById(user.getId())
+				.orElseThrow(() -> new UserNotFoundException(user.getId()));
 	}
 
 }
@@ -55,6 +55,9 @@ public class User implements UserDetails, Serializable {
 	@Column(name = "last_login_at")
 	private OffsetDateTime lastLoginAt;
 
+	@Column(name = "token_version", nullable = false)
+	private int tokenVersion = 0;
+
 	@JsonIgnore
     @Column(name = "created_at", updatable = false)
     private OffsetDateTime createdAt;
@@ -72,6 +75,38 @@ public class User implements UserDetails, Serializable {
         this.role = role;
     }
 
+	/**
+	 * Detached copy, so a cached principal is never mutated by the request that uses it.
+	 */
+	public User(User other) {
+		this.id = other.id;
+		this.fullName = other.fullName;
+		this.email = other.email;
+		this.emailVerifiedAt = other.emailVerifiedAt;
+		this.phoneE164 = other.phoneE164;
+		this.passwordHash = other.passwordHash;
+		this.role = other.role;
+		this.status = other.status;
+		this.failedLoginAttempts = other.failedLoginAttempts;
+		this.lockedUntil = other.lockedUntil;
+		this.lastLoginAt = other.lastLoginAt;
+		this.tokenVersion = other.tokenVersion;
+		this.createdAt = other.createdAt;
+		this.updatedAt = other.updatedAt;
+	}
+
+	/**
+	 * Principal rebuilt from verified token claims in stateless mode. It carries no
+	 * credentials or profile data; load the user by id when those are needed.
+	 */
+	public static User principalOf(UUID id, String email, Role role, int tokenVersion) {
+		User user = new User(null, email, null, role);
+		user.id = id;
+		user.status = Status.ACTIVE;
+		user.tokenVersion = tokenVersion;
+		return user;
+	}
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = OffsetDateTime.now();
@@ -213,10 +248,22 @@ public class User implements UserDetails, Serializable {
         return updatedAt;
     }
 
+	public int getTokenVersion() {
+		return tokenVersion;
+	}
+
     public void changePassword(String encryptedPassword) {
         this.passwordHash = encryptedPassword;
+        revokeTokens();
     }
 
+	/**
+	 * Invalidates every access token issued so far.
+	 */
+	public void revokeTokens() {
+		this.tokenVersion++;
+	}
+
     @Override
     public String toString() {
         return "User{" +
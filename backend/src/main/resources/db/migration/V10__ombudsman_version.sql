@@ -0,0 +1,8 @@
+-- =====================================================================
+-- V10 - Optimistic concurrency on ombudsman
+--  - version: JPA @Version, bumped on every update (including bulk
+--    status transitions); exposed to clients as a weak ETag
+-- =====================================================================
+
+ALTER TABLE ombudsman
+    ADD COLUMN version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,57 @@
+-- =====================================================================
+-- V11 - Soft delete for ombudsman
+--  - deleted_at marks a case as removed; every query filters on
+--    "deleted_at IS NULL" (@SQLRestriction on the entity, OmbudsmanSqlFilter)
+--  - search indexes become partial on that predicate, so deleted rows
+--    neither bloat them nor get scanned
+--  - unique indexes (protocol_number, client_request_id) stay total:
+--    a deleted case still owns its protocol and request id
+-- =====================================================================
+
+ALTER TABLE ombudsman
+    ADD COLUMN deleted_at TIMESTAMPTZ(3);
+
+DROP INDEX IF EXISTS idx_ombudsman_category;
+CREATE INDEX idx_ombudsman_category
+    ON ombudsman (category)
+    WHERE deleted_at IS NULL;
+
+DROP INDEX IF EXISTS idx_ombudsman_urgency;
+CREATE INDEX idx_ombudsman_urgency
+    ON ombudsman (urgency)
+    WHERE deleted_at IS NULL;
+
+DROP INDEX IF EXISTS idx_ombudsman_created_at_id;
+CREATE INDEX idx_ombudsman_created_at_id
+    ON ombudsman (created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+DROP INDEX IF EXISTS idx_ombudsman_status_created_at;
+CREATE INDEX idx_ombudsman_status_created_at
+    ON ombudsman (current_status, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+DROP INDEX IF EXISTS idx_ombudsman_reporter_created_at;
+CREATE INDEX idx_ombudsman_reporter_created_at
+    ON ombudsman (reporter_identity_id, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+DROP INDEX IF EXISTS idx_ombudsman_protocol_number_trgm;
+CREATE INDEX idx_ombudsman_protocol_number_trgm
+    ON ombudsman USING gin (lower(protocol_number) gin_trgm_ops)
+    WHERE deleted_at IS NULL;
+
+DROP INDEX IF EXISTS idx_ombudsman_description_tsv;
+CREATE INDEX idx_ombudsman_description_tsv
+    ON ombudsman USING gin (description_tsv)
+    WHERE deleted_at IS NULL;
+
+DROP INDEX IF EXISTS idx_ombudsman_location_gist;
+CREATE INDEX idx_ombudsman_location_gist
+    ON ombudsman USING gist (point(longitude::float8, latitude::float8))
+    WHERE deleted_at IS NULL;
+
+-- purge candidates
+CREATE INDEX idx_ombudsman_deleted_at
+    ON ombudsman (deleted_at)
+    WHERE deleted_at IS NOT NULL;
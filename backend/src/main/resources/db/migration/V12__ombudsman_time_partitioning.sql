@@ -0,0 +1,225 @@
+-- =====================================================================
+-- V12 - Time-partitioned ombudsman storage with a cold archive
+--  - ombudsman and case_status_history_entries are range partitioned
+--    by created_at, one partition per (UTC) year
+--  - each ombudsman year is list partitioned by "archived":
+--      ombudsman_yYYYY_live     open and recent cases
+--      ombudsman_yYYYY_archive  COMPLETED cases moved by OmbudsmanArchiver;
+--                               fillfactor 100 and toast_tuple_target 128,
+--                               so descriptions are TOAST-compressed
+--  - pdo_ensure_ombudsman_partitions(year) creates a year's partitions;
+--    the archiver calls it ahead of time, a DEFAULT partition catches
+--    anything outside the created range
+--  - partitioned tables can only enforce uniqueness together with the
+--    partition key, so:
+--      * protocol_number keeps a plain index (uniqueness comes from
+--        ombudsman_protocol_seq)
+--      * client_request_id uniqueness moves to ombudsman_client_requests
+--      * the FK from ombudsman_attachment_urls becomes a soft FK
+-- =====================================================================
+
+CREATE OR REPLACE FUNCTION pdo_ensure_ombudsman_partitions(p_year integer) RETURNS void
+LANGUAGE plpgsql AS $$
+DECLARE
+    from_ts timestamptz := make_timestamptz(p_year, 1, 1, 0, 0, 0, 'UTC');
+    to_ts   timestamptz := make_timestamptz(p_year + 1, 1, 1, 0, 0, 0, 'UTC');
+    year_partition text := 'ombudsman_y' || p_year;
+    history_partition text := 'case_status_history_entries_y' || p_year;
+BEGIN
+    IF to_regclass(year_partition) IS NULL THEN
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF ombudsman FOR VALUES FROM (%L) TO (%L) PARTITION BY LIST (archived)',
+            year_partition, from_ts, to_ts);
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF %I FOR VALUES IN (false)',
+            year_partition || '_live', year_partition);
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF %I FOR VALUES IN (true) WITH (fillfactor = 100, toast_tuple_target = 128)',
+            year_partition || '_archive', year_partition);
+    END IF;
+
+    IF to_regclass(history_partition) IS NULL THEN
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF case_status_history_entries FOR VALUES FROM (%L) TO (%L)',
+            history_partition, from_ts, to_ts);
+    END IF;
+END
+$$;
+
+-- ---------------------------------------------------------------------
+-- New partitioned parents
+-- ---------------------------------------------------------------------
+
+ALTER TABLE ombudsman RENAME TO ombudsman_legacy;
+ALTER TABLE case_status_history_entries RENAME TO case_status_history_entries_legacy;
+
+CREATE TABLE ombudsman (
+    id uuid NOT NULL DEFAULT gen_random_uuid(),
+
+    protocol_number varchar(30) NOT NULL,
+
+    category varchar(50) NOT NULL,
+    description varchar(4000) NOT NULL,
+    description_tsv tsvector
+        GENERATED ALWAYS AS (to_tsvector('pdo_portuguese'::regconfig, description)) STORED,
+    urgency varchar(50),
+    current_status varchar(50) DEFAULT 'RECEIVED',
+
+    anonymous boolean,
+    privacy_consent boolean NOT NULL,
+
+    destination_agency_id uuid,
+    reporter_identity_id uuid,
+
+    iza_triage_result_id uuid,
+
+    iza_suggested_category varchar(50),
+    iza_suggested_agency_id uuid,
+    iza_confidence numeric(5,4),
+    iza_rationale varchar(2000),
+
+    longitude numeric(9,6) NOT NULL,
+    latitude numeric(9,6) NOT NULL,
+    approx_address varchar(255),
+
+    client_request_id uuid,
+    version bigint NOT NULL DEFAULT 0,
+    archived boolean NOT NULL DEFAULT false,
+
+    created_at TIMESTAMPTZ(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    updated_at TIMESTAMPTZ(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    deleted_at TIMESTAMPTZ(3),
+
+    CONSTRAINT chk_ombudsman_longitude_range CHECK (longitude >= -180 AND longitude <= 180),
+    CONSTRAINT chk_ombudsman_latitude_range CHECK (latitude >= -90 AND latitude <= 90),
+    CONSTRAINT chk_ombudsman_archived_completed CHECK (NOT archived OR current_status = 'COMPLETED')
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE ombudsman_default PARTITION OF ombudsman DEFAULT;
+
+CREATE TABLE case_status_history_entries (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    case_id UUID NOT NULL,
+    status VARCHAR(30) NOT NULL,
+    changed_at TIMESTAMPTZ(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    note VARCHAR(1000),
+    changed_by_user_id UUID,
+    created_at TIMESTAMPTZ(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    updated_at TIMESTAMPTZ(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE case_status_history_entries_default PARTITION OF case_status_history_entries DEFAULT;
+
+DO $$
+DECLARE
+    first_year integer;
+    last_year integer := extract(year FROM now() AT TIME ZONE 'UTC')::integer + 1;
+BEGIN
+    SELECT extract(year FROM min(created_at) AT TIME ZONE 'UTC')::integer
+      INTO first_year
+      FROM (SELECT created_at FROM ombudsman_legacy
+            UNION ALL
+            SELECT created_at FROM case_status_history_entries_legacy) t;
+
+    FOR y IN coalesce(least(first_year, last_year - 1), last_year - 1) .. last_year LOOP
+        PERFORM pdo_ensure_ombudsman_partitions(y);
+    END LOOP;
+END
+$$;
+
+-- ---------------------------------------------------------------------
+-- Data
+-- ---------------------------------------------------------------------
+
+INSERT INTO ombudsman (
+    id, protocol_number, category, description, urgency, current_status,
+    anonymous, privacy_consent, destination_agency_id, reporter_identity_id,
+    iza_triage_result_id, iza_suggested_category, iza_suggested_agency_id, iza_confidence, iza_rationale,
+    longitude, latitude, approx_address,
+    client_request_id, version, created_at, updated_at, deleted_at
+)
+SELECT
+    id, protocol_number, category, description, urgency, current_status,
+    anonymous, privacy_consent, destination_agency_id, reporter_identity_id,
+    iza_triage_result_id, iza_suggested_category, iza_suggested_agency_id, iza_confidence, iza_rationale,
+    longitude, latitude, approx_address,
+    client_request_id, version, created_at, updated_at, deleted_at
+FROM ombudsman_legacy;
+
+INSERT INTO case_status_history_entries (id, case_id, status, changed_at, note, changed_by_user_id, created_at, updated_at)
+SELECT id, case_id, status, changed_at, note, changed_by_user_id, created_at, updated_at
+FROM case_status_history_entries_legacy;
+
+CREATE TABLE ombudsman_client_requests (
+    client_request_id uuid PRIMARY KEY,
+    case_id uuid NOT NULL,
+    created_at TIMESTAMPTZ(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+);
+
+INSERT INTO ombudsman_client_requests (client_request_id, case_id, created_at)
+SELECT client_request_id, id, created_at
+FROM ombudsman_legacy
+WHERE client_request_id IS NOT NULL;
+
+ALTER TABLE ombudsman_attachment_urls
+    DROP CONSTRAINT IF EXISTS ombudsman_attachment_urls_ombudsman_id_fkey;
+
+DROP TABLE ombudsman_legacy;
+DROP TABLE case_status_history_entries_legacy;
+
+-- ---------------------------------------------------------------------
+-- Indexes (created on the parents, inherited by every partition)
+-- ---------------------------------------------------------------------
+
+ALTER TABLE ombudsman ADD PRIMARY KEY (id, created_at, archived);
+ALTER TABLE case_status_history_entries ADD PRIMARY KEY (id, created_at);
+
+CREATE INDEX idx_ombudsman_protocol_number
+    ON ombudsman (protocol_number);
+
+CREATE INDEX idx_ombudsman_category
+    ON ombudsman (category)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_ombudsman_urgency
+    ON ombudsman (urgency)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_ombudsman_created_at_id
+    ON ombudsman (created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_ombudsman_status_created_at
+    ON ombudsman (current_status, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_ombudsman_reporter_created_at
+    ON ombudsman (reporter_identity_id, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_ombudsman_protocol_number_trgm
+    ON ombudsman USING gin (lower(protocol_number) gin_trgm_ops)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_ombudsman_description_tsv
+    ON ombudsman USING gin (description_tsv)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_ombudsman_location_gist
+    ON ombudsman USING gist (point(longitude::float8, latitude::float8))
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_ombudsman_client_request_id
+    ON ombudsman (client_request_id)
+    WHERE client_request_id IS NOT NULL;
+
+CREATE INDEX idx_ombudsman_deleted_at
+    ON ombudsman (deleted_at)
+    WHERE deleted_at IS NOT NULL;
+
+CREATE INDEX idx_ombudsman_archive_candidates
+    ON ombudsman (updated_at)
+    WHERE current_status = 'COMPLETED' AND NOT archived AND deleted_at IS NULL;
+
+CREATE INDEX idx_case_status_history_entries_case_id_changed_at
+    ON case_status_history_entries (case_id, changed_at);
@@ -0,0 +1,34 @@
+-- =====================================================================
+-- V13 - Transactional outbox for forwarding cases to destination agencies
+--  - one row per (protocol_number, destination_agency_id), written in the
+--    transaction that moves the case to FORWARDED (ADR 0007: forwarding is
+--    idempotent per protocol + destination)
+--  - payload is a snapshot of what the agency receives; it never carries
+--    the reporter's identity (ADR 0002)
+--  - ForwardingDispatcher claims due rows with FOR UPDATE SKIP LOCKED by
+--    pushing next_attempt_at forward (a lease), delivers outside the
+--    transaction and marks rows DELIVERED, or reschedules them with backoff
+--    until max attempts turn them FAILED
+--  - case_id is a soft FK (ADR 0006)
+-- =====================================================================
+
+CREATE TABLE forwarding_outbox (
+    id bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    case_id uuid NOT NULL,
+    protocol_number varchar(30) NOT NULL,
+    destination_agency_id uuid NOT NULL,
+    payload jsonb NOT NULL,
+    status varchar(20) NOT NULL DEFAULT 'PENDING',
+    attempts integer NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMPTZ(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    last_error varchar(1000),
+    created_at TIMESTAMPTZ(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    delivered_at TIMESTAMPTZ(3),
+
+    CONSTRAINT chk_forwarding_outbox_status CHECK (status IN ('PENDING', 'DELIVERED', 'FAILED')),
+    CONSTRAINT uq_forwarding_outbox_protocol_destination UNIQUE (protocol_number, destination_agency_id)
+);
+
+CREATE INDEX idx_forwarding_outbox_due
+    ON forwarding_outbox (next_attempt_at, id)
+    WHERE status = 'PENDING';
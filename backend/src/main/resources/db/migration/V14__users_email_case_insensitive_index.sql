@@ -0,0 +1,9 @@
+-- =====================================================================
+-- V14 - Case-insensitive email lookups
+--  - UserRepository.findByEmailIgnoreCase renders "upper(email) = upper(?)",
+--    which uq_users_email cannot serve; principal cache misses and logins
+--    now use this index instead of scanning users
+-- =====================================================================
+
+CREATE INDEX IF NOT EXISTS idx_users_email_upper
+    ON users (upper(email));
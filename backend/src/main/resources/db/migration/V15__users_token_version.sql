@@ -0,0 +1,15 @@
+-- =====================================================================
+-- V15 - Token version for stateless JWT revocation
+--  - token_version is copied into every access token ("tv" claim) and
+--    bumped whenever status, password, email or role change, which
+--    revokes every token issued before
+--  - TokenVersionRegistry keeps the non-zero versions in memory and
+--    refreshes them incrementally by updated_at
+-- =====================================================================
+
+ALTER TABLE users
+    ADD COLUMN token_version integer NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_users_updated_at
+    ON users (updated_at)
+    WHERE updated_at IS NOT NULL;
@@ -0,0 +1,12 @@
+-- =====================================================================
+-- V16 - Smaller protocol number blocks
+--  - blocks idle past ProtocolNumberAllocator.BLOCK_TTL are abandoned, and
+--    with 50 numbers per block low-traffic periods burned through the
+--    6-digit DF-YYYY-NNNNNN space far faster than cases arrived
+--  - 10 per block keeps one nextval per 10 creates while capping the gap
+--    left by an idle block at 9 numbers
+--  - allocators re-read increment_by on every refill, so instances started
+--    before this migration pick up the new block size on their next block
+-- =====================================================================
+
+ALTER SEQUENCE ombudsman_protocol_seq INCREMENT BY 10;
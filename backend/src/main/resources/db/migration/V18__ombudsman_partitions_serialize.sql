@@ -0,0 +1,92 @@
+-- =====================================================================
+-- V18 - Serialize pdo_ensure_ombudsman_partitions
+--  - the to_regclass checks ran before any lock, so two instances starting
+--    together both decided to create the year and the second CREATE TABLE
+--    failed with "relation already exists", aborting its startup
+--  - a transaction-scoped advisory lock is now taken before the checks;
+--    the second caller waits for the first to commit and then finds the
+--    partitions in place
+-- =====================================================================
+
+CREATE OR REPLACE FUNCTION pdo_ensure_ombudsman_partitions(p_year integer) RETURNS integer
+LANGUAGE plpgsql AS $$
+DECLARE
+    from_ts timestamptz := make_timestamptz(p_year, 1, 1, 0, 0, 0, 'UTC');
+    to_ts   timestamptz := make_timestamptz(p_year + 1, 1, 1, 0, 0, 0, 'UTC');
+    year_partition text := 'ombudsman_y' || p_year;
+    history_partition text := 'case_status_history_entries_y' || p_year;
+    moved integer := 0;
+    moved_history integer := 0;
+BEGIN
+    -- serializes concurrent callers (instances starting together) until their commit,
+    -- so the to_regclass checks below see partitions created by the winner
+    PERFORM pg_advisory_xact_lock(hashtext('pdo_ensure_ombudsman_partitions'));
+
+    IF to_regclass(year_partition) IS NULL THEN
+        LOCK TABLE ombudsman_default IN EXCLUSIVE MODE;
+
+        -- description_tsv is generated, so the column list is spelled out
+        CREATE TEMP TABLE pdo_default_ombudsman ON COMMIT DROP AS
+        SELECT id, protocol_number, category, description, urgency, current_status,
+               anonymous, privacy_consent, destination_agency_id, reporter_identity_id,
+               iza_triage_result_id, iza_suggested_category, iza_suggested_agency_id, iza_confidence, iza_rationale,
+               longitude, latitude, approx_address,
+               client_request_id, version, archived, created_at, updated_at, deleted_at
+        FROM ombudsman_default
+        WHERE created_at >= from_ts AND created_at < to_ts;
+        GET DIAGNOSTICS moved = ROW_COUNT;
+
+        IF moved > 0 THEN
+            DELETE FROM ombudsman_default WHERE created_at >= from_ts AND created_at < to_ts;
+        END IF;
+
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF ombudsman FOR VALUES FROM (%L) TO (%L) PARTITION BY LIST (archived)',
+            year_partition, from_ts, to_ts);
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF %I FOR VALUES IN (false)',
+            year_partition || '_live', year_partition);
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF %I FOR VALUES IN (true) WITH (fillfactor = 100, toast_tuple_target = 128)',
+            year_partition || '_archive', year_partition);
+
+        IF moved > 0 THEN
+            INSERT INTO ombudsman (
+                id, protocol_number, category, description, urgency, current_status,
+                anonymous, privacy_consent, destination_agency_id, reporter_identity_id,
+                iza_triage_result_id, iza_suggested_category, iza_suggested_agency_id, iza_confidence, iza_rationale,
+                longitude, latitude, approx_address,
+                client_request_id, version, archived, created_at, updated_at, deleted_at
+            )
+            SELECT * FROM pdo_default_ombudsman;
+        END IF;
+        DROP TABLE pdo_default_ombudsman;
+    END IF;
+
+    IF to_regclass(history_partition) IS NULL THEN
+        LOCK TABLE case_status_history_entries_default IN EXCLUSIVE MODE;
+
+        CREATE TEMP TABLE pdo_default_history ON COMMIT DROP AS
+        SELECT id, case_id, status, changed_at, note, changed_by_user_id, created_at, updated_at
+        FROM case_status_history_entries_default
+        WHERE created_at >= from_ts AND created_at < to_ts;
+        GET DIAGNOSTICS moved_history = ROW_COUNT;
+
+        IF moved_history > 0 THEN
+            DELETE FROM case_status_history_entries_default WHERE created_at >= from_ts AND created_at < to_ts;
+        END IF;
+
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF case_status_history_entries FOR VALUES FROM (%L) TO (%L)',
+            history_partition, from_ts, to_ts);
+
+        IF moved_history > 0 THEN
+            INSERT INTO case_status_history_entries (id, case_id, status, changed_at, note, changed_by_user_id, created_at, updated_at)
+            SELECT * FROM pdo_default_history;
+        END IF;
+        DROP TABLE pdo_default_history;
+    END IF;
+
+    RETURN moved + moved_history;
+END
+$$;
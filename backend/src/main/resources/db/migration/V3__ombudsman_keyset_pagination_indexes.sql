@@ -0,0 +1,9 @@
+-- =====================================================================
+-- V3 - Keyset (seek) pagination over ombudsman
+--  - mode=cursor lists cases newest first by (created_at, id)
+--  - the cursor predicate "created_at <= :c and (created_at < :c or id < :id)"
+--    starts the index range at the cursor, so deep pages cost the same as page 1
+-- =====================================================================
+
+CREATE INDEX IF NOT EXISTS idx_ombudsman_created_at_id
+    ON ombudsman (created_at DESC, id DESC);
@@ -0,0 +1,20 @@
+-- =====================================================================
+-- V4 - Index-friendly case search
+--  - category / urgency / currentStatus filters are now typed IN lists
+--    (category in (...), current_status in (...)), matching btree indexes
+--  - composite indexes serve the filtered list already ordered by
+--    (created_at, id), so the page is read straight off the index
+--  - protocolNumber keeps its "contains" semantics, now backed by trigrams
+-- =====================================================================
+
+CREATE INDEX IF NOT EXISTS idx_ombudsman_status_created_at
+    ON ombudsman (current_status, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_ombudsman_reporter_created_at
+    ON ombudsman (reporter_identity_id, created_at DESC, id DESC);
+
+-- superseded by idx_ombudsman_status_created_at (same leading column)
+DROP INDEX IF EXISTS idx_ombudsman_current_status;
+
+CREATE INDEX IF NOT EXISTS idx_ombudsman_protocol_number_trgm
+    ON ombudsman USING gin (lower(protocol_number) gin_trgm_ops);
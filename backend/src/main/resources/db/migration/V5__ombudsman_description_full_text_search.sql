@@ -0,0 +1,29 @@
+-- =====================================================================
+-- V5 - Ranked full-text search over ombudsman.description
+--  - pdo_portuguese: Portuguese stemming with accents stripped, so
+--    "iluminação" and "iluminacao" reach the same lexeme
+--  - description_tsv: stored generated tsvector, ranked with ts_rank
+--    without recomputing to_tsvector per row
+--  - replaces the unused 'simple' expression index from V1
+-- =====================================================================
+
+CREATE EXTENSION IF NOT EXISTS "unaccent";
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'pdo_portuguese') THEN
+        CREATE TEXT SEARCH CONFIGURATION pdo_portuguese (COPY = pg_catalog.portuguese);
+        ALTER TEXT SEARCH CONFIGURATION pdo_portuguese
+            ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem;
+    END IF;
+END
+$$;
+
+ALTER TABLE ombudsman
+    ADD COLUMN description_tsv tsvector
+        GENERATED ALWAYS AS (to_tsvector('pdo_portuguese'::regconfig, description)) STORED;
+
+DROP INDEX IF EXISTS idx_ombudsman_description_tsv;
+
+CREATE INDEX idx_ombudsman_description_tsv
+    ON ombudsman USING gin (description_tsv);
@@ -0,0 +1,12 @@
+-- =====================================================================
+-- V6 - Viewport and radius queries over ombudsman locations
+--  - GiST (point_ops) over point(longitude, latitude): "<@ box" scans only
+--    the index pages overlapping the map viewport
+--  - radius filters use the enclosing box for the index and an exact
+--    distance check on the survivors
+--  - queries must repeat the indexed expression verbatim
+--    (see OmbudsmanSearchFunctions.LOCATION_POINT_SQL)
+-- =====================================================================
+
+CREATE INDEX IF NOT EXISTS idx_ombudsman_location_gist
+    ON ombudsman USING gist (point(longitude::float8, latitude::float8));
@@ -0,0 +1,9 @@
+-- =====================================================================
+-- V7 - Pooled protocol number allocation
+--  - each nextval reserves a block of 50 numbers for one backend instance
+--    (ProtocolNumberAllocator hands them out in memory)
+--  - the next call returns last_value + 50, i.e. the block
+--    (last_value, last_value + 50], so no issued number is reused
+-- =====================================================================
+
+ALTER SEQUENCE ombudsman_protocol_seq INCREMENT BY 50;
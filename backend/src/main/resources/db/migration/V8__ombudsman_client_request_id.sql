@@ -0,0 +1,13 @@
+-- =====================================================================
+-- V8 - Idempotent case creation (ADR 0007)
+--  - client_request_id: UUID generated by the front-end per submission
+--  - unique among the rows that carry one; a replay resolves to the
+--    original case instead of inserting a duplicate
+-- =====================================================================
+
+ALTER TABLE ombudsman
+    ADD COLUMN client_request_id uuid;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_ombudsman_client_request_id
+    ON ombudsman (client_request_id)
+    WHERE client_request_id IS NOT NULL;
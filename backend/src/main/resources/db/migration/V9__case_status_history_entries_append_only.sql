@@ -0,0 +1,21 @@
+-- =====================================================================
+-- V9 - Append-only status history
+--  - status transitions become single INSERTs into case_status_history_entries
+--    instead of rewrites of the ordered element collection
+--  - existing ombudsman_status_history rows are moved over (stage order is
+--    kept by changed_at) and the old table is dropped
+--  - case_id stays a soft FK (ADR 0006)
+-- =====================================================================
+
+INSERT INTO case_status_history_entries (case_id, status, changed_at, note, changed_by_user_id, created_at, updated_at)
+SELECT h.ombudsman_id, h.status, h.changed_at, h.note, h.changed_by_user_id, h.changed_at, h.changed_at
+FROM ombudsman_status_history h
+ORDER BY h.ombudsman_id, h.stage;
+
+DROP TABLE ombudsman_status_history;
+
+-- unused, and paid on every insert
+DROP INDEX IF EXISTS idx_case_status_history_entries_status_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_case_status_history_entries_case_id_changed_at
+    ON case_status_history_entries (case_id, changed_at);
@@ -0,0 +1,100 @@
+package com.camelloncase.pdo.auth.application;
+
+import com.camelloncase.pdo.shared.config.jwt.JwtProperties;
+import com.camelloncase.pdo.user.domain.User;
+import com.camelloncase.pdo.user.domain.enums.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token validation cost in {@code JwtAuthenticationFilter}, before and after
+ * the single-parse change:
+ * <ul>
+ *     <li>{@code legacyThreeParses}: the old path, a new parser per call and three full
+ *     parse + HMAC checks (extractUsername, isTokenValid, isTokenExpired)</li>
+ *     <li>{@code singleVerify}: one parse with the shared parser, no cache</li>
+ *     <li>{@code cachedParse}: steady state, the token was verified by an earlier request</li>
+ * </ul>
+ * Not a unit test; run with {@code main} from the IDE, or
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main JwtServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+	private static final String SECRET = "kKm5G2MIj9aMOK/y6v0tXpLHmv8nciqTmrLb+HlJk3k=";
+
+	private JwtService jwtService;
+	private Key signingKey;
+	private User user;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		JwtProperties properties = new JwtProperties();
+		properties.setSecret(SECRET);
+		properties.setExpirationMs(TimeUnit.HOURS.toMillis(1));
+
+		jwtService = new JwtService(properties);
+		signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+		user = new User("Benchmark", "benchmark@participa.df.gov.br", "unused", Role.ADMIN);
+		token = jwtService.generateToken(user);
+		jwtService.parse(token);
+	}
+
+	@Benchmark
+	public boolean legacyThreeParses() {
+		String username = legacyClaims().getSubject();
+		boolean valid = username != null
+				&& legacyClaims().getSubject().equalsIgnoreCase(user.getUsername());
+		Date expiration = legacyClaims().getExpiration();
+		return valid && expiration != null && !expiration.before(new Date());
+	}
+
+	@Benchmark
+	public boolean singleVerify() {
+		return jwtService.isTokenValid(jwtService.verify(token), user);
+	}
+
+	@Benchmark
+	public boolean cachedParse() {
+		return jwtService.isTokenValid(jwtService.parse(token), user);
+	}
+
+	private Claims legacyClaims() {
+		return Jwts.parserBuilder()
+				.setSigningKey(signingKey)
+				.build()
+				.parseClaimsJws(token)
+				.getBody();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(JwtServiceBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
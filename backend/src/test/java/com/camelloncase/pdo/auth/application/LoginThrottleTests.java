@@ -0,0 +1,153 @@
+package com.camelloncase.pdo.auth.application;
+
+import com.camelloncase.pdo.auth.domain.LoginAttempts;
+import com.camelloncase.pdo.auth.infrastructure.LoginAttemptRepository;
+import com.camelloncase.pdo.shared.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LoginThrottleTests {
+
+	private static final String EMAIL = "user@example.com";
+
+	private LoginThrottleProperties properties;
+	private LoginAttemptRepository repository;
+	private LoginThrottle throttle;
+
+	@BeforeEach
+	void setUp() {
+		properties = new LoginThrottleProperties();
+		repository = mock(LoginAttemptRepository.class);
+		throttle = new LoginThrottle(properties, repository, new SimpleMeterRegistry());
+	}
+
+	@Test
+	void nothingPendingWritesNothing() {
+		throttle.flush();
+
+		verify(repository, never()).saveAll(anyList());
+	}
+
+	@Test
+	void flushWritesTheLatestStatePerAccount() {
+		throttle.failed(EMAIL);
+		throttle.failed(" USER@example.com ");
+
+		throttle.flush();
+
+		List<Map.Entry<String, LoginAttempts>> saved = captureSaveAll(1);
+		assertThat(saved).hasSize(1);
+		assertThat(saved.get(0).getKey()).isEqualTo(EMAIL);
+		assertThat(saved.get(0).getValue().failures()).isEqualTo(2);
+
+		throttle.flush();
+		verify(repository, times(1)).saveAll(anyList());
+	}
+
+	@Test
+	void failedFlushIsRequeued() {
+		throttle.failed(EMAIL);
+		doThrow(new DataAccessResourceFailureException("down")).doNothing()
+				.when(repository).saveAll(anyList());
+
+		throttle.flush();
+		throttle.flush();
+
+		List<Map.Entry<String, LoginAttempts>> retried = captureSaveAll(2);
+		assertThat(retried).hasSize(1);
+		assertThat(retried.get(0).getValue().failures()).isEqualTo(1);
+	}
+
+	@Test
+	void newerStateRecordedDuringAFailedFlushWins() {
+		throttle.failed(EMAIL);
+		doThrow(new DataAccessResourceFailureException("down"))
+				.when(repository).saveAll(anyList());
+		throttle.flush();
+
+		throttle.succeeded(EMAIL);
+		doNothing().when(repository).saveAll(anyList());
+		throttle.flush();
+
+		List<Map.Entry<String, LoginAttempts>> retried = captureSaveAll(2);
+		assertThat(retried).hasSize(1);
+		assertThat(retried.get(0).getValue().failures()).isZero();
+		assertThat(retried.get(0).getValue().lastLoginAt()).isNotNull();
+	}
+
+	@Test
+	void lockedAccountIsRejected() {
+		for (int i = 0; i < properties.getLockout().getThreshold(); i++) {
+			throttle.failed(EMAIL);
+		}
+
+		assertThatThrownBy(() -> throttle.check(EMAIL, null))
+				.isInstanceOf(TooManyRequestsException.class);
+	}
+
+	@Test
+	void firstFailureContinuesFromTheStoredCount() {
+		int threshold = properties.getLockout().getThreshold();
+		when(repository.find(EMAIL)).thenReturn(Optional.of(new LoginAttempts(threshold - 1, null, null)));
+
+		throttle.failed(EMAIL);
+
+		assertThatThrownBy(() -> throttle.check(EMAIL, null))
+				.isInstanceOf(TooManyRequestsException.class);
+		throttle.flush();
+		assertThat(captureSaveAll(1).get(0).getValue().failures()).isEqualTo(threshold);
+	}
+
+	@Test
+	void storedCountIsReadOncePerAccount() {
+		throttle.failed(EMAIL);
+		throttle.failed(EMAIL);
+
+		verify(repository, times(1)).find(EMAIL);
+	}
+
+	@Test
+	void unreadableStoredCountStartsFromZero() {
+		when(repository.find(EMAIL)).thenThrow(new DataAccessResourceFailureException("down"));
+
+		throttle.failed(EMAIL);
+		throttle.flush();
+
+		assertThat(captureSaveAll(1).get(0).getValue().failures()).isEqualTo(1);
+	}
+
+	@Test
+	void disabledThrottleRecordsNothing() {
+		properties.setEnabled(false);
+		throttle.failed(EMAIL);
+
+		throttle.flush();
+
+		verify(repository, never()).saveAll(anyList());
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Map.Entry<String, LoginAttempts>> captureSaveAll(int calls) {
+		ArgumentCaptor<List<Map.Entry<String, LoginAttempts>>> captor = ArgumentCaptor.forClass(List.class);
+		verify(repository, times(calls)).saveAll(captor.capture());
+		return captor.getValue();
+	}
+}
@@ -0,0 +1,89 @@
+package com.camelloncase.pdo.auth.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedTokenBucketTests {
+
+	@Test
+	void stripesAreRoundedUpToAPowerOfTwo() {
+		assertThat(new StripedTokenBucket(0, 1, Duration.ofSeconds(1)).size()).isEqualTo(1);
+		assertThat(new StripedTokenBucket(1, 1, Duration.ofSeconds(1)).size()).isEqualTo(1);
+		assertThat(new StripedTokenBucket(2, 1, Duration.ofSeconds(1)).size()).isEqualTo(2);
+		assertThat(new StripedTokenBucket(3, 1, Duration.ofSeconds(1)).size()).isEqualTo(4);
+		assertThat(new StripedTokenBucket(65_536, 1, Duration.ofSeconds(1)).size()).isEqualTo(65_536);
+		assertThat(new StripedTokenBucket(65_537, 1, Duration.ofSeconds(1)).size()).isEqualTo(131_072);
+	}
+
+	@Test
+	void burstUpToCapacityThenWaitForARefill() {
+		StripedTokenBucket bucket = new StripedTokenBucket(16, 3, Duration.ofHours(1));
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(bucket.tryAcquire("user@example.com")).isZero();
+		}
+		long wait = bucket.tryAcquire("user@example.com");
+		assertThat(wait).isPositive().isLessThanOrEqualTo(Duration.ofHours(1).toNanos());
+	}
+
+	@Test
+	void rejectedAttemptsDoNotTakeTokens() {
+		StripedTokenBucket bucket = new StripedTokenBucket(16, 1, Duration.ofHours(1));
+		bucket.tryAcquire("user@example.com");
+
+		long first = bucket.tryAcquire("user@example.com");
+		long second = bucket.tryAcquire("user@example.com");
+
+		// the wait only shrinks with time; a taken token would have added a whole interval
+		assertThat(second).isLessThanOrEqualTo(first);
+	}
+
+	@Test
+	void keysAreCaseInsensitive() {
+		StripedTokenBucket bucket = new StripedTokenBucket(16, 1, Duration.ofHours(1));
+
+		assertThat(bucket.tryAcquire("User@Example.com")).isZero();
+		assertThat(bucket.tryAcquire("user@example.com")).isPositive();
+	}
+
+	@Test
+	void concurrentTakesNeverExceedCapacity() throws Exception {
+		int capacity = 50;
+		int threads = 8;
+		StripedTokenBucket bucket = new StripedTokenBucket(1, capacity, Duration.ofHours(1));
+		CountDownLatch start = new CountDownLatch(1);
+
+		List<Future<Integer>> results = new ArrayList<>();
+		try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+			for (int t = 0; t < threads; t++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					int taken = 0;
+					for (int i = 0; i < capacity; i++) {
+						if (bucket.tryAcquire("10.0.0." + i) == 0) {
+							taken++;
+						}
+					}
+					return taken;
+				}));
+			}
+			start.countDown();
+
+			int taken = 0;
+			for (Future<Integer> result : results) {
+				taken += result.get();
+			}
+			// a single stripe: every key shares one bucket
+			assertThat(taken).isEqualTo(capacity);
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.camelloncase.pdo.auth.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginAttemptsTests {
+
+	private static final OffsetDateTime NOW = OffsetDateTime.of(2026, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+	private static final Duration INITIAL = Duration.ofMinutes(1);
+	private static final Duration MAX = Duration.ofMinutes(10);
+
+	@Test
+	void failuresBelowTheThresholdDoNotLock() {
+		LoginAttempts attempts = LoginAttempts.succeeded(NOW);
+		attempts = fail(attempts);
+		attempts = fail(attempts);
+
+		assertThat(attempts.failures()).isEqualTo(2);
+		assertThat(attempts.lockedUntil()).isNull();
+		assertThat(attempts.lastLoginAt()).isNull();
+		assertThat(attempts.isLocked(NOW)).isFalse();
+	}
+
+	@Test
+	void lockStartsAtTheThresholdAndDoubles() {
+		LoginAttempts attempts = new LoginAttempts(2, null, null);
+
+		attempts = fail(attempts);
+		assertThat(attempts.lockedUntil()).isEqualTo(NOW.plusMinutes(1));
+		attempts = fail(attempts);
+		assertThat(attempts.lockedUntil()).isEqualTo(NOW.plusMinutes(2));
+		attempts = fail(attempts);
+		assertThat(attempts.lockedUntil()).isEqualTo(NOW.plusMinutes(4));
+		attempts = fail(attempts);
+		assertThat(attempts.lockedUntil()).isEqualTo(NOW.plusMinutes(8));
+		assertThat(attempts.isLocked(NOW.plusMinutes(7))).isTrue();
+		assertThat(attempts.isLocked(NOW.plusMinutes(8))).isFalse();
+	}
+
+	@Test
+	void lockIsCappedAtMax() {
+		LoginAttempts attempts = new LoginAttempts(6, null, null);
+		assertThat(fail(attempts).lockedUntil()).isEqualTo(NOW.plus(MAX));
+
+		// far past the 30 doublings the shift is limited to
+		LoginAttempts many = new LoginAttempts(1_000, null, null);
+		assertThat(fail(many).lockedUntil()).isEqualTo(NOW.plus(MAX));
+	}
+
+	@Test
+	void successClearsFailuresAndLock() {
+		LoginAttempts attempts = LoginAttempts.succeeded(NOW);
+
+		assertThat(attempts.failures()).isZero();
+		assertThat(attempts.lockedUntil()).isNull();
+		assertThat(attempts.lastLoginAt()).isEqualTo(NOW);
+	}
+
+	private static LoginAttempts fail(LoginAttempts attempts) {
+		return attempts.failed(NOW, 3, INITIAL, MAX);
+	}
+}
@@ -0,0 +1,41 @@
+package com.camelloncase.pdo.ombudsman.api;
+
+import com.camelloncase.pdo.shared.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OmbudsmanETagsTests {
+
+	@Test
+	void absentBlankAndWildcardImposeNoPrecondition() {
+		assertThat(OmbudsmanETags.parseIfMatch(null)).isNull();
+		assertThat(OmbudsmanETags.parseIfMatch("  ")).isNull();
+		assertThat(OmbudsmanETags.parseIfMatch(" * ")).isNull();
+	}
+
+	@Test
+	void weakAndStrongTagsAreParsed() {
+		assertThat(OmbudsmanETags.parseIfMatch("W/\"3\"")).containsExactly(3L);
+		assertThat(OmbudsmanETags.parseIfMatch("\"3\", W/\"7\"")).containsExactlyInAnyOrder(3L, 7L);
+	}
+
+	@Test
+	void wellFormedForeignTagsAreIgnored() {
+		assertThat(OmbudsmanETags.parseIfMatch("W/\"abc\"")).isEmpty();
+		assertThat(OmbudsmanETags.parseIfMatch("\"abc\", W/\"4\"")).containsExactly(4L);
+	}
+
+	@Test
+	void malformedTagsAreBadRequests() {
+		assertThatThrownBy(() -> OmbudsmanETags.parseIfMatch("3"))
+				.isInstanceOf(BadRequestException.class);
+		assertThatThrownBy(() -> OmbudsmanETags.parseIfMatch("W/\"3"))
+				.isInstanceOf(BadRequestException.class);
+		assertThatThrownBy(() -> OmbudsmanETags.parseIfMatch("\"3\"\"4\""))
+				.isInstanceOf(BadRequestException.class);
+		assertThatThrownBy(() -> OmbudsmanETags.parseIfMatch("\"3\", "))
+				.isInstanceOf(BadRequestException.class);
+	}
+}
@@ -0,0 +1,94 @@
+package com.camelloncase.pdo.ombudsman.application;
+
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanSearchRequest;
+import com.camelloncase.pdo.ombudsman.api.dto.SliceResponse;
+import com.camelloncase.pdo.ombudsman.api.dto.OmbudsmanResponse;
+import com.camelloncase.pdo.ombudsman.application.usecase.ListOmbudsmansUseCase;
+import com.camelloncase.pdo.ombudsman.domain.Ombudsman;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class OmbudsmanListStatementCountTests {
+
+	private static final OmbudsmanSearchRequest NO_FILTER = new OmbudsmanSearchRequest(
+			null, null, null, null, null, null, null, null, null, null, null, null, null);
+
+	@Autowired
+	private OmbudsmanFacade facade;
+
+	@Autowired
+	private ListOmbudsmansUseCase listUseCase;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		// two attachments per case, rolled back with the test
+		jdbc.update("""
+				insert into ombudsman_attachment_urls (ombudsman_id, stage, attachment_url)
+				select o.id, s.stage, 'https://arquivos.participa.df.gov.br/' || o.id || '/' || s.stage
+				from ombudsman o cross join generate_series(0, 1) as s(stage)
+				on conflict do nothing
+				""");
+		statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void statementCountPerPageDoesNotGrowWithPageSize() {
+		long small = statementsFor(5);
+		long large = statementsFor(25);
+
+		assertThat(large).isEqualTo(small);
+		assertThat(large).isLessThanOrEqualTo(3);
+	}
+
+	@Test
+	void attachmentsOfAPageAreLoadedInOneBatch() {
+		long small = attachmentStatementsFor(5);
+		long large = attachmentStatementsFor(25);
+
+		assertThat(large).isEqualTo(small);
+		// page query + one @BatchSize fetch for every collection on the page
+		assertThat(large).isLessThanOrEqualTo(2);
+	}
+
+	private long attachmentStatementsFor(int size) {
+		entityManager.clear();
+		statistics.clear();
+
+		SliceResponse<Ombudsman> slice = listUseCase.executeSlice(NO_FILTER, PageRequest.of(0, size), false);
+		assertThat(slice.content()).hasSize(size);
+		slice.content().forEach(o -> assertThat(o.getAttachmentUrls()).hasSize(2));
+
+		return statistics.getPrepareStatementCount();
+	}
+
+	private long statementsFor(int size) {
+		entityManager.clear();
+		statistics.clear();
+
+		SliceResponse<OmbudsmanResponse> slice = facade.listSlice(NO_FILTER, PageRequest.of(0, size), false);
+		// status history is only read for the detail view
+		slice.content().forEach(response -> assertThat(response.statusHistory()).isNull());
+
+		return statistics.getPrepareStatementCount();
+	}
+}
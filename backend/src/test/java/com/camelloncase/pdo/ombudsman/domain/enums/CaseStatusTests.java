@@ -0,0 +1,31 @@
+package com.camelloncase.pdo.ombudsman.domain.enums;
+
+import org.junit.jupiter.api.Test;
+
+import static com.camelloncase.pdo.ombudsman.domain.enums.CaseStatus.COMPLETED;
+import static com.camelloncase.pdo.ombudsman.domain.enums.CaseStatus.FORWARDED;
+import static com.camelloncase.pdo.ombudsman.domain.enums.CaseStatus.IN_EXECUTION;
+import static com.camelloncase.pdo.ombudsman.domain.enums.CaseStatus.RECEIVED;
+import static com.camelloncase.pdo.ombudsman.domain.enums.CaseStatus.SCHEDULED;
+import static com.camelloncase.pdo.ombudsman.domain.enums.CaseStatus.TRIAGE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaseStatusTests {
+
+	@Test
+	void transitionsFollowTheStateMachine() {
+		assertThat(RECEIVED.allowedFrom()).isEmpty();
+		assertThat(TRIAGE.allowedFrom()).containsExactly(RECEIVED);
+		assertThat(FORWARDED.allowedFrom()).containsExactlyInAnyOrder(RECEIVED, TRIAGE);
+		assertThat(SCHEDULED.allowedFrom()).containsExactly(FORWARDED);
+		assertThat(IN_EXECUTION.allowedFrom()).containsExactlyInAnyOrder(FORWARDED, SCHEDULED);
+		assertThat(COMPLETED.allowedFrom()).containsExactly(IN_EXECUTION);
+	}
+
+	@Test
+	void noStatusIsReachableFromItselfOrFromCompleted() {
+		for (CaseStatus status : CaseStatus.values()) {
+			assertThat(status.allowedFrom()).doesNotContain(status, COMPLETED);
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.iza;
+
+import com.camelloncase.pdo.ombudsman.infrastructure.iza.IzaCircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IzaCircuitBreakerTests {
+
+	@Test
+	void staysClosedBelowMinimumCalls() {
+		IzaCircuitBreaker breaker = breaker(10, 4, 0.5, Duration.ofHours(1), 2);
+
+		breaker.onFailure();
+		breaker.onFailure();
+		breaker.onFailure();
+
+		assertThat(breaker.state()).isEqualTo(State.CLOSED);
+		assertThat(breaker.tryAcquire()).isTrue();
+	}
+
+	@Test
+	void opensAtTheThresholdOnceMinimumCallsAreRecorded() {
+		IzaCircuitBreaker breaker = breaker(10, 4, 0.5, Duration.ofHours(1), 2);
+
+		breaker.onSuccess();
+		breaker.onFailure();
+		breaker.onSuccess();
+		assertThat(breaker.state()).isEqualTo(State.CLOSED);
+
+		breaker.onFailure();
+
+		assertThat(breaker.state()).isEqualTo(State.OPEN);
+		assertThat(breaker.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void staysClosedBelowTheThreshold() {
+		IzaCircuitBreaker breaker = breaker(10, 4, 0.5, Duration.ofHours(1), 2);
+
+		breaker.onFailure();
+		breaker.onSuccess();
+		breaker.onSuccess();
+		breaker.onSuccess();
+
+		assertThat(breaker.state()).isEqualTo(State.CLOSED);
+	}
+
+	@Test
+	void onlyTheLastWindowCounts() {
+		IzaCircuitBreaker breaker = breaker(4, 4, 0.75, Duration.ofHours(1), 2);
+
+		breaker.onFailure();
+		breaker.onFailure();
+		for (int i = 0; i < 4; i++) {
+			breaker.onSuccess();
+		}
+		breaker.onFailure();
+		breaker.onFailure();
+		assertThat(breaker.state()).isEqualTo(State.CLOSED);
+
+		breaker.onFailure();
+
+		assertThat(breaker.state()).isEqualTo(State.OPEN);
+	}
+
+	@Test
+	void halfOpenAdmitsExactlyHalfOpenCalls() {
+		IzaCircuitBreaker breaker = opened(Duration.ZERO, 2);
+
+		assertThat(breaker.tryAcquire()).isTrue();
+		assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+		assertThat(breaker.tryAcquire()).isTrue();
+		assertThat(breaker.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void oneFailedTrialReopens() {
+		IzaCircuitBreaker breaker = opened(Duration.ZERO, 2);
+		breaker.tryAcquire();
+		breaker.tryAcquire();
+
+		breaker.onSuccess();
+		breaker.onFailure();
+
+		assertThat(breaker.state()).isEqualTo(State.OPEN);
+	}
+
+	@Test
+	void allTrialsSucceedingClosesWithAnEmptyWindow() {
+		IzaCircuitBreaker breaker = opened(Duration.ZERO, 2);
+		breaker.tryAcquire();
+		breaker.tryAcquire();
+
+		breaker.onSuccess();
+		assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+		breaker.onSuccess();
+
+		assertThat(breaker.state()).isEqualTo(State.CLOSED);
+		// the failures that opened it are forgotten: below minimum calls again
+		breaker.onFailure();
+		breaker.onFailure();
+		breaker.onFailure();
+		assertThat(breaker.state()).isEqualTo(State.CLOSED);
+	}
+
+	@Test
+	void staysOpenUntilOpenForHasPassed() {
+		IzaCircuitBreaker breaker = opened(Duration.ofHours(1), 2);
+
+		assertThat(breaker.tryAcquire()).isFalse();
+		assertThat(breaker.state()).isEqualTo(State.OPEN);
+	}
+
+	@Test
+	void lateOutcomesWhileOpenAreIgnored() {
+		IzaCircuitBreaker breaker = opened(Duration.ofHours(1), 2);
+
+		breaker.onSuccess();
+		breaker.onSuccess();
+
+		assertThat(breaker.state()).isEqualTo(State.OPEN);
+	}
+
+	private static IzaCircuitBreaker opened(Duration openFor, int halfOpenCalls) {
+		IzaCircuitBreaker breaker = breaker(10, 4, 0.5, openFor, halfOpenCalls);
+		for (int i = 0; i < 4; i++) {
+			breaker.onFailure();
+		}
+		assertThat(breaker.state()).isEqualTo(State.OPEN);
+		return breaker;
+	}
+
+	static IzaCircuitBreaker breaker(int windowSize, int minimumCalls, double threshold,
+									 Duration openFor, int halfOpenCalls) {
+		return new IzaCircuitBreaker(circuitBreaker(windowSize, minimumCalls, threshold, openFor, halfOpenCalls));
+	}
+
+	static IzaProperties.CircuitBreaker circuitBreaker(int windowSize, int minimumCalls, double threshold,
+													   Duration openFor, int halfOpenCalls) {
+		IzaProperties.CircuitBreaker properties = new IzaProperties.CircuitBreaker();
+		properties.setWindowSize(windowSize);
+		properties.setMinimumCalls(minimumCalls);
+		properties.setFailureRateThreshold(threshold);
+		properties.setOpenFor(openFor);
+		properties.setHalfOpenCalls(halfOpenCalls);
+		return properties;
+	}
+}
@@ -0,0 +1,165 @@
+package com.camelloncase.pdo.ombudsman.infrastructure.iza;
+
+import com.camelloncase.pdo.ombudsman.domain.IzaTriageResult;
+import com.camelloncase.pdo.ombudsman.domain.enums.CaseCategory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ResilientIzaTriageClientTests {
+
+	private static final IzaTriageRequest REQUEST = new IzaTriageRequest(CaseCategory.values()[0], "buraco na via");
+
+	private final IzaTriageResult result = mock(IzaTriageResult.class);
+
+	private IzaProperties properties;
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		properties = new IzaProperties();
+		properties.getRetry().setMaxAttempts(3);
+		properties.getRetry().setInitialBackoff(Duration.ZERO);
+		properties.getRetry().setMaxBackoff(Duration.ZERO);
+		properties.getCircuitBreaker().setWindowSize(10);
+		properties.getCircuitBreaker().setMinimumCalls(4);
+		properties.getCircuitBreaker().setFailureRateThreshold(0.5);
+		properties.getCircuitBreaker().setOpenFor(Duration.ofHours(1));
+		properties.getCircuitBreaker().setHalfOpenCalls(2);
+		properties.getBulkhead().setMaxConcurrentCalls(4);
+		properties.getBulkhead().setMaxWait(Duration.ofMillis(10));
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@Test
+	void retryableFailuresAreRetried() {
+		AtomicInteger calls = new AtomicInteger();
+		ResilientIzaTriageClient client = client(request -> {
+			if (calls.incrementAndGet() < 3) {
+				throw new IzaTriageException("503", true);
+			}
+			return result;
+		});
+
+		assertThat(client.triage(REQUEST)).isSameAs(result);
+		assertThat(calls).hasValue(3);
+		assertThat(meterRegistry.counter("iza.requests").count()).isEqualTo(3);
+		assertThat(meterRegistry.counter("iza.errors", "reason", "transient").count()).isEqualTo(2);
+	}
+
+	@Test
+	void givesUpAfterMaxAttempts() {
+		AtomicInteger calls = new AtomicInteger();
+		ResilientIzaTriageClient client = client(request -> {
+			calls.incrementAndGet();
+			throw new IzaTriageException("503", true);
+		});
+
+		assertThatThrownBy(() -> client.triage(REQUEST))
+				.isInstanceOf(IzaTriageException.class)
+				.isNotInstanceOf(IzaUnavailableException.class);
+		assertThat(calls).hasValue(3);
+	}
+
+	@Test
+	void clientErrorsAreNotRetriedNorCountedAgainstTheCircuit() {
+		AtomicInteger calls = new AtomicInteger();
+		ResilientIzaTriageClient client = client(request -> {
+			calls.incrementAndGet();
+			throw new IzaTriageException("400", false);
+		});
+
+		for (int i = 0; i < 10; i++) {
+			assertThatThrownBy(() -> client.triage(REQUEST)).isInstanceOf(IzaTriageException.class);
+		}
+
+		assertThat(calls).hasValue(10);
+		assertThat(circuitState()).isEqualTo(IzaCircuitBreaker.State.CLOSED.ordinal());
+		assertThat(meterRegistry.counter("iza.errors", "reason", "rejected").count()).isEqualTo(10);
+	}
+
+	@Test
+	void openCircuitShedsCallsWithoutReachingIza() {
+		properties.getRetry().setMaxAttempts(1);
+		AtomicInteger calls = new AtomicInteger();
+		ResilientIzaTriageClient client = client(request -> {
+			calls.incrementAndGet();
+			throw new IzaTriageException("timeout", true);
+		});
+		for (int i = 0; i < 4; i++) {
+			assertThatThrownBy(() -> client.triage(REQUEST)).isInstanceOf(IzaTriageException.class);
+		}
+		assertThat(circuitState()).isEqualTo(IzaCircuitBreaker.State.OPEN.ordinal());
+
+		assertThatThrownBy(() -> client.triage(REQUEST)).isInstanceOf(IzaUnavailableException.class);
+
+		assertThat(calls).hasValue(4);
+		assertThat(meterRegistry.counter("iza.rejected", "reason", "circuit_open").count()).isEqualTo(1);
+		assertThat(meterRegistry.counter("iza.errors", "reason", "transient").count()).isEqualTo(4);
+	}
+
+	@Test
+	void unexpectedExceptionsAreWrappedAndCountAsFailures() {
+		properties.getRetry().setMaxAttempts(1);
+		ResilientIzaTriageClient client = client(request -> {
+			throw new IllegalStateException("boom");
+		});
+
+		for (int i = 0; i < 4; i++) {
+			assertThatThrownBy(() -> client.triage(REQUEST))
+					.isInstanceOf(IzaTriageException.class)
+					.hasCauseInstanceOf(IllegalStateException.class);
+		}
+
+		assertThat(circuitState()).isEqualTo(IzaCircuitBreaker.State.OPEN.ordinal());
+	}
+
+	@Test
+	void fullBulkheadShedsCallsAfterMaxWait() throws Exception {
+		properties.getBulkhead().setMaxConcurrentCalls(1);
+		CountDownLatch inside = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ResilientIzaTriageClient client = client(request -> {
+			inside.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return result;
+		});
+
+		try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+			Future<IzaTriageResult> first = executor.submit(() -> client.triage(REQUEST));
+			assertThat(inside.await(5, TimeUnit.SECONDS)).isTrue();
+
+			assertThatThrownBy(() -> client.triage(REQUEST)).isInstanceOf(IzaUnavailableException.class);
+			assertThat(meterRegistry.counter("iza.rejected", "reason", "bulkhead_full").count()).isEqualTo(1);
+
+			release.countDown();
+			assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(result);
+		}
+
+		assertThat(client.triage(REQUEST)).isSameAs(result);
+	}
+
+	private ResilientIzaTriageClient client(IzaTriageBackend backend) {
+		return new ResilientIzaTriageClient(backend, properties, meterRegistry);
+	}
+
+	private double circuitState() {
+		return meterRegistry.get("iza.circuit.state").gauge().value();
+	}
+}
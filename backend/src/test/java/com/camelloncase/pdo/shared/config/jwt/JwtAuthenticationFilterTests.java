@@ -0,0 +1,105 @@
+package com.camelloncase.pdo.shared.config.jwt;
+
+import com.camelloncase.pdo.auth.application.JwtService;
+import com.camelloncase.pdo.user.application.PrincipalCache;
+import com.camelloncase.pdo.user.application.PrincipalCacheProperties;
+import com.camelloncase.pdo.user.application.TokenVersionRegistry;
+import com.camelloncase.pdo.user.domain.User;
+import com.camelloncase.pdo.user.domain.enums.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTests {
+
+	private static final String EMAIL = "agent@example.com";
+
+	private final UUID userId = UUID.randomUUID();
+
+	private JwtService jwtService;
+	private PrincipalCache principalCache;
+	private UserDetailsService userDetailsService;
+	private JwtAuthenticationFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		JwtProperties properties = new JwtProperties();
+		properties.setSecret("MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=");
+		jwtService = new JwtService(properties);
+		principalCache = new PrincipalCache(new PrincipalCacheProperties(), new SimpleMeterRegistry());
+		userDetailsService = mock(UserDetailsService.class);
+		filter = new JwtAuthenticationFilter(jwtService, userDetailsService, principalCache,
+				mock(TokenVersionRegistry.class), properties, new ObjectMapper());
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void tokenNewerThanTheCachedPrincipalReloadsIt() throws Exception {
+		principalCache.get(EMAIL, email -> principal(1));
+		when(userDetailsService.loadUserByUsername(anyString())).thenReturn(principal(2));
+
+		MockHttpServletResponse response = authenticate(jwtService.generateToken(principal(2)));
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		assertThat(authentication).isNotNull();
+		assertThat(((User) authentication.getPrincipal()).getTokenVersion()).isEqualTo(2);
+		verify(userDetailsService, times(1)).loadUserByUsername(EMAIL);
+	}
+
+	@Test
+	void tokenStillNewerAfterTheReloadIsRejected() throws Exception {
+		principalCache.get(EMAIL, email -> principal(1));
+		when(userDetailsService.loadUserByUsername(anyString())).thenReturn(principal(1));
+
+		MockHttpServletResponse response = authenticate(jwtService.generateToken(principal(2)));
+
+		assertThat(response.getStatus()).isEqualTo(401);
+		verify(userDetailsService, times(1)).loadUserByUsername(EMAIL);
+	}
+
+	@Test
+	void revokedTokenIsRejectedWithoutReloading() throws Exception {
+		principalCache.get(EMAIL, email -> principal(2));
+
+		MockHttpServletResponse response = authenticate(jwtService.generateToken(principal(1)));
+
+		assertThat(response.getStatus()).isEqualTo(401);
+		verify(userDetailsService, never()).loadUserByUsername(anyString());
+	}
+
+	private MockHttpServletResponse authenticate(String token) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/ombudsmans");
+		request.setServletPath("/api/v1/ombudsmans");
+		request.addHeader("Authorization", "Bearer " + token);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+
+	private User principal(int tokenVersion) {
+		return User.principalOf(userId, EMAIL, Role.AGENT, tokenVersion);
+	}
+}
@@ -0,0 +1,89 @@
+package com.camelloncase.pdo.shared.config.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password verifications per second on one core, i.e. the login ceiling per core for each
+ * BCrypt cost:
+ * <ul>
+ *     <li>{@code direct}: plain {@link BCryptPasswordEncoder} on the calling thread</li>
+ *     <li>{@code bounded}: through {@link BoundedPasswordEncoder} with a single hashing thread,
+ *     showing the hand-off costs nothing next to the hash itself</li>
+ * </ul>
+ * Multiply by {@code security.password-hashing.threads} for the instance ceiling.
+ * Not a unit test; run with {@code main} from the IDE, or
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main PasswordHashingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+	private static final String PASSWORD = "correct horse battery staple";
+
+	@Param({"10", "12"})
+	public int strength;
+
+	private BCryptPasswordEncoder direct;
+	private BoundedPasswordEncoder bounded;
+	private String hash;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		PasswordHashingProperties properties = new PasswordHashingProperties();
+		properties.setStrength(strength);
+		properties.setThreads(1);
+		properties.setQueueCapacity(16);
+		properties.setRetryAfter(Duration.ofSeconds(1));
+
+		direct = new BCryptPasswordEncoder(strength);
+		bounded = new BoundedPasswordEncoder(properties, new SimpleMeterRegistry());
+		hash = direct.encode(PASSWORD);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		bounded.close();
+	}
+
+	@Benchmark
+	public boolean direct() {
+		return direct.matches(PASSWORD, hash);
+	}
+
+	@Benchmark
+	public boolean bounded() {
+		return bounded.matches(PASSWORD, hash);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(PasswordHashingBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
@@ -0,0 +1,101 @@
+package com.camelloncase.pdo.user.application;
+
+import com.camelloncase.pdo.shared.config.jwt.JwtProperties;
+import com.camelloncase.pdo.user.application.TokenVersionRegistry.Check;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenVersionRegistryTests {
+
+	private final UUID userId = UUID.randomUUID();
+
+	private JdbcTemplate jdbc;
+	private TokenVersionRegistry registry;
+
+	@BeforeEach
+	void setUp() {
+		jdbc = mock(JdbcTemplate.class);
+		when(jdbc.queryForObject("select now()", OffsetDateTime.class)).thenReturn(OffsetDateTime.now());
+
+		JwtProperties properties = new JwtProperties();
+		properties.setStateless(true);
+		registry = new TokenVersionRegistry(jdbc, properties);
+	}
+
+	@Test
+	void everythingIsUnknownBeforeLoading() {
+		assertThat(registry.check(userId, 0)).isEqualTo(Check.UNKNOWN);
+	}
+
+	@Test
+	void missingIdOrVersionIsUnknown() {
+		registry.load();
+
+		assertThat(registry.check(null, 0)).isEqualTo(Check.UNKNOWN);
+		assertThat(registry.check(userId, null)).isEqualTo(Check.UNKNOWN);
+	}
+
+	@Test
+	void neverRevokedUserIsAtVersionZero() {
+		registry.load();
+
+		assertThat(registry.check(userId, 0)).isEqualTo(Check.CURRENT);
+		assertThat(registry.check(userId, 1)).isEqualTo(Check.UNKNOWN);
+	}
+
+	@Test
+	void olderVersionsAreRevokedAndNewerOnesUnknown() {
+		registry.load();
+		registry.revoked(userId, 3);
+
+		assertThat(registry.check(userId, 2)).isEqualTo(Check.REVOKED);
+		assertThat(registry.check(userId, 3)).isEqualTo(Check.CURRENT);
+		assertThat(registry.check(userId, 4)).isEqualTo(Check.UNKNOWN);
+	}
+
+	@Test
+	void versionsNeverGoBackwards() {
+		registry.load();
+		registry.revoked(userId, 3);
+		registry.revoked(userId, 2);
+
+		assertThat(registry.check(userId, 3)).isEqualTo(Check.CURRENT);
+	}
+
+	@Test
+	void revocationInATransactionAppliesAfterCommit() {
+		registry.load();
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			registry.revoked(userId, 1);
+			assertThat(registry.check(userId, 0)).isEqualTo(Check.CURRENT);
+
+			List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+			synchronizations.forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertThat(registry.check(userId, 0)).isEqualTo(Check.REVOKED);
+		assertThat(registry.check(userId, 1)).isEqualTo(Check.CURRENT);
+	}
+
+	@Test
+	void statefulModeNeverBecomesReady() {
+		TokenVersionRegistry stateful = new TokenVersionRegistry(jdbc, new JwtProperties());
+		stateful.load();
+
+		assertThat(stateful.check(userId, 0)).isEqualTo(Check.UNKNOWN);
+	}
+}